@@ -0,0 +1,62 @@
+package com.school.equipment.loadtest;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Buffers rows for a single INSERT statement and writes them with one JDBC batch per
+ * transaction. Rows referencing a parent table flush the parent inserter first so foreign
+ * keys are always satisfied.
+ */
+public class BatchInserter {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final String sql;
+
+    private final int batchSize;
+
+    private final BatchInserter parent;
+
+    private final List<Object[]> rows;
+
+    private long written;
+
+    public BatchInserter(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                         String sql, int batchSize, BatchInserter parent) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.sql = sql;
+        this.batchSize = batchSize;
+        this.parent = parent;
+        this.rows = new ArrayList<>(batchSize);
+    }
+
+    public void add(Object... row) {
+        rows.add(row);
+        if (rows.size() >= batchSize) {
+            flush();
+        }
+    }
+
+    public void flush() {
+        if (parent != null) {
+            parent.flush();
+        }
+        if (rows.isEmpty()) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(sql, rows));
+        written += rows.size();
+        rows.clear();
+    }
+
+    public long getWritten() {
+        return written;
+    }
+}
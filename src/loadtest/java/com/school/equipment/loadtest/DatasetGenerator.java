@@ -0,0 +1,280 @@
+package com.school.equipment.loadtest;
+
+import com.school.equipment.EquipmentLendingApplication;
+import com.school.equipment.readmodel.BorrowRequestViewProjector;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.IsoFields;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Bulk-loads a large synthetic dataset into the configured database with batched inserts.
+ *
+ * <p>Borrow requests are generated in chronological order of their start date. Item popularity
+ * follows a Zipf distribution and start dates are weighted towards exam weeks. Requests only
+ * become APPROVED or RETURNED when every day of their window still has capacity, and only
+ * those write per-day {@code equipment_booking} rows, so the data obeys the same availability
+ * rules as {@code BorrowRequestService}. PENDING requests all start today or later, and no
+ * {@code created_at} lies in the future. {@code available_quantity} is set to total minus the
+ * units of currently APPROVED requests.
+ *
+ * <p>Generated users share the password {@value #PASSWORD}. The default MySQL JDBC URL sets
+ * {@code rewriteBatchedStatements=true}, so the driver collapses each batch into multi-row inserts.
+ */
+public class DatasetGenerator {
+
+    static final String PASSWORD = "Password123!";
+
+    private static final String[] CATEGORIES = {"Sports", "Lab", "Music", "Camera", "Computing", "Art", "Drama"};
+
+    private static final String[] FIRST_NAMES = {"Aarav", "Maya", "Liam", "Zara", "Noah", "Priya", "Ethan", "Isla", "Omar", "Chloe"};
+
+    private static final String[] LAST_NAMES = {"Sharma", "Nguyen", "Smith", "Okafor", "Garcia", "Kim", "Patel", "Brown", "Silva", "Khan"};
+
+    private static final String[] REASONS = {"Class project", "Team practice", "Lab experiment", "School event", "Exam preparation"};
+
+    private final DatasetOptions options;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final PasswordEncoder passwordEncoder;
+
+    private final Random random;
+
+    public DatasetGenerator(DatasetOptions options, JdbcTemplate jdbcTemplate,
+                            PlatformTransactionManager transactionManager, PasswordEncoder passwordEncoder) {
+        this.options = options;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.passwordEncoder = passwordEncoder;
+        this.random = new Random(options.seed);
+    }
+
+    public static void main(String[] args) {
+        DatasetOptions options = DatasetOptions.parse(args);
+        System.setProperty("spring.devtools.restart.enabled", "false");
+
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(EquipmentLendingApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.jpa.show-sql=false");
+        if (options.profile != null) {
+            builder.profiles(options.profile);
+        }
+
+        try (ConfigurableApplicationContext context = builder.run()) {
+            System.out.println("Generating dataset with " + options);
+            new DatasetGenerator(options,
+                    context.getBean(JdbcTemplate.class),
+                    context.getBean(PlatformTransactionManager.class),
+                    context.getBean(PasswordEncoder.class)).generate();
+            context.getBean(BorrowRequestViewProjector.class).backfill();
+        }
+    }
+
+    public void generate() {
+        long started = System.nanoTime();
+        LocalDate today = LocalDate.now();
+        LocalDate startDate = today.minusDays(365L * options.years);
+        LocalDateTime seededAt = startDate.atStartOfDay();
+
+        long userBase = maxId("users", "user_id");
+        long equipmentBase = maxId("equipment", "equipment_id");
+        long requestBase = maxId("borrow_request", "request_id");
+
+        long adminId = userBase + 1;
+        long firstStaffId = adminId + 1;
+        long firstStudentId = firstStaffId + options.staff;
+        int studentCount = options.users - options.staff - 1;
+
+        BatchInserter users = inserter("INSERT INTO users (user_id, username, password_hash, full_name, email, role, "
+                + "created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)", null);
+        String passwordHash = passwordEncoder.encode(PASSWORD);
+        for (int i = 0; i < options.users; i++) {
+            long userId = adminId + i;
+            String role = i == 0 ? "ADMIN" : userId < firstStudentId ? "STAFF" : "STUDENT";
+            String fullName = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " "
+                    + LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+            users.add(userId, "gen_" + userId, passwordHash, fullName, "gen_" + userId + "@school.example",
+                    role, seededAt, seededAt);
+        }
+        users.flush();
+
+        int[] totalQuantity = new int[options.equipment];
+        BatchInserter equipment = inserter("INSERT INTO equipment (equipment_id, name, category, condition_status, "
+                + "total_quantity, available_quantity, availability, description, created_by, created_at, updated_at) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", null);
+        for (int i = 0; i < options.equipment; i++) {
+            String category = CATEGORIES[i % CATEGORIES.length];
+            totalQuantity[i] = random.nextDouble() < 0.3 ? 1 : 1 + random.nextInt(30);
+            equipment.add(equipmentBase + 1 + i, category + " item " + (i + 1), category, "Good",
+                    totalQuantity[i], totalQuantity[i], true, "Generated " + category.toLowerCase() + " equipment",
+                    adminId, seededAt, seededAt);
+        }
+        equipment.flush();
+
+        // Popularity ranks are assigned to a shuffled item order so popular items are spread across categories
+        int[] itemByRank = shuffledIndexes(options.equipment);
+        WeightedSampler itemSampler = WeightedSampler.zipf(options.equipment, options.itemSkew);
+
+        int todayIndex = 365 * options.years;
+        int horizon = todayIndex + options.futureDays;
+        WeightedSampler daySampler = new WeightedSampler(dayWeights(startDate, horizon));
+        int[] fromDays = new int[options.requests];
+        for (int i = 0; i < fromDays.length; i++) {
+            fromDays[i] = daySampler.sample(random);
+        }
+        Arrays.sort(fromDays);
+
+        short[][] booked = new short[options.equipment][];
+        int[] unitsOut = new int[options.equipment];
+
+        BatchInserter requests = inserter("INSERT INTO borrow_request (request_id, equipment_id, requested_by, "
+                + "approved_by, quantity, from_date, to_date, return_date, reason, status, remarks, "
+                + "condition_after_use, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", null);
+        BatchInserter bookings = inserter("INSERT INTO equipment_booking (request_id, equipment_id, booking_date, "
+                + "quantity, status, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?)", requests);
+
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < fromDays.length; i++) {
+            long requestId = requestBase + 1 + i;
+            int item = itemByRank[itemSampler.sample(random)];
+            int total = totalQuantity[item];
+            int quantity = random.nextDouble() < 0.8 ? 1 : 1 + random.nextInt(Math.min(3, total));
+            int length = 1 + Math.min(6, (int) (-Math.log(1 - random.nextDouble()) * 1.5));
+            int fromDay = fromDays[i];
+            int toDay = fromDay + length - 1;
+
+            if (booked[item] == null) {
+                booked[item] = new short[horizon + 7];
+            }
+            boolean fits = fits(booked[item], fromDay, toDay, quantity, total);
+
+            String status;
+            if (random.nextDouble() < 0.05) {
+                status = "REJECTED";
+            } else if (toDay < todayIndex) {
+                status = fits ? "RETURNED" : "REJECTED";
+            } else if (fits && unitsOut[item] + quantity <= total
+                    && (fromDay < todayIndex || random.nextDouble() < 0.6)) {
+                status = "APPROVED";
+            } else if (fromDay < todayIndex) {
+                // The service only accepts requests starting today or later, so one already under way was decided
+                status = "REJECTED";
+            } else {
+                status = fits || random.nextBoolean() ? "PENDING" : "REJECTED";
+            }
+
+            LocalDate fromDate = startDate.plusDays(fromDay);
+            LocalDate toDate = startDate.plusDays(toDay);
+            LocalDateTime createdAt = min(fromDate.minusDays(1 + random.nextInt(14)).atTime(8, 0)
+                    .plusMinutes(random.nextInt(600)), now);
+            boolean booking = status.equals("APPROVED") || status.equals("RETURNED");
+            Long approvedBy = booking ? firstStaffId + random.nextInt(options.staff) : null;
+            LocalDate returnDate = status.equals("RETURNED")
+                    ? min(toDate.plusDays(random.nextInt(3)), today.minusDays(1))
+                    : null;
+            LocalDateTime updatedAt = returnDate != null ? returnDate.atTime(16, 0) : createdAt;
+
+            requests.add(requestId, equipmentBase + 1 + item, firstStudentId + random.nextInt(studentCount),
+                    approvedBy, quantity, fromDate, toDate, returnDate, REASONS[random.nextInt(REASONS.length)],
+                    status, booking ? "Approved" : null, returnDate != null ? "Good" : null, createdAt, updatedAt);
+
+            if (booking) {
+                String bookingStatus = status.equals("APPROVED") ? "ACTIVE" : "RELEASED";
+                for (int day = fromDay; day <= toDay; day++) {
+                    booked[item][day] += quantity;
+                    bookings.add(requestId, equipmentBase + 1 + item, startDate.plusDays(day), quantity,
+                            bookingStatus, createdAt, updatedAt);
+                }
+                if (status.equals("APPROVED")) {
+                    unitsOut[item] += quantity;
+                }
+            }
+
+            if ((i + 1) % 100_000 == 0) {
+                System.out.printf("  %,d requests, %,d bookings%n", i + 1, bookings.getWritten());
+            }
+        }
+        bookings.flush();
+
+        BatchInserter availability = inserter(
+                "UPDATE equipment SET available_quantity = ? WHERE equipment_id = ?", null);
+        for (int item = 0; item < unitsOut.length; item++) {
+            if (unitsOut[item] > 0) {
+                availability.add(totalQuantity[item] - unitsOut[item], equipmentBase + 1 + item);
+            }
+        }
+        availability.flush();
+
+        System.out.printf("Generated %,d users, %,d equipment, %,d requests and %,d bookings in %.1fs%n",
+                users.getWritten(), equipment.getWritten(), requests.getWritten(), bookings.getWritten(),
+                (System.nanoTime() - started) / 1_000_000_000.0);
+    }
+
+    private BatchInserter inserter(String sql, BatchInserter parent) {
+        return new BatchInserter(jdbcTemplate, transactionTemplate, sql, options.batchSize, parent);
+    }
+
+    private long maxId(String table, String column) {
+        Long max = jdbcTemplate.queryForObject("SELECT MAX(" + column + ") FROM " + table, Long.class);
+        return max != null ? max : 0L;
+    }
+
+    private double[] dayWeights(LocalDate startDate, int days) {
+        double[] weights = new double[days];
+        for (int day = 0; day < days; day++) {
+            LocalDate date = startDate.plusDays(day);
+            double weight = date.getDayOfWeek() == DayOfWeek.SATURDAY || date.getDayOfWeek() == DayOfWeek.SUNDAY
+                    ? 0.3 : 1.0;
+            int week = date.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR);
+            if (Arrays.stream(options.examWeeks).anyMatch(examWeek -> examWeek == week)) {
+                weight *= options.examPeakFactor;
+            }
+            weights[day] = weight;
+        }
+        return weights;
+    }
+
+    private int[] shuffledIndexes(int size) {
+        int[] indexes = new int[size];
+        for (int i = 0; i < size; i++) {
+            indexes[i] = i;
+        }
+        for (int i = size - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = indexes[i];
+            indexes[i] = indexes[j];
+            indexes[j] = swap;
+        }
+        return indexes;
+    }
+
+    private static boolean fits(short[] booked, int fromDay, int toDay, int quantity, int total) {
+        for (int day = fromDay; day <= toDay; day++) {
+            if (booked[day] + quantity > total) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static LocalDate min(LocalDate first, LocalDate second) {
+        return first.isBefore(second) ? first : second;
+    }
+
+    private static LocalDateTime min(LocalDateTime first, LocalDateTime second) {
+        return first.isBefore(second) ? first : second;
+    }
+}
@@ -0,0 +1,64 @@
+package com.school.equipment.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Command line options for the dataset generator, given as {@code --name=value} pairs.
+ */
+public class DatasetOptions {
+
+    int users = 50_000;
+    int staff = 500;
+    int equipment = 10_000;
+    int requests = 1_000_000;
+    int years = 3;
+    int futureDays = 60;
+    int batchSize = 5_000;
+    long seed = 42L;
+    /** Zipf exponent for item popularity; 0 means uniform. */
+    double itemSkew = 1.1;
+    /** How much busier exam weeks are than ordinary weeks. */
+    double examPeakFactor = 4.0;
+    int[] examWeeks = {11, 12, 23, 24, 48, 49};
+    String profile = null;
+
+    public static DatasetOptions parse(String[] args) {
+        DatasetOptions options = new DatasetOptions();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            String name = arg.substring(2, arg.indexOf('='));
+            String value = arg.substring(arg.indexOf('=') + 1);
+            switch (name) {
+                case "users" -> options.users = Integer.parseInt(value);
+                case "staff" -> options.staff = Integer.parseInt(value);
+                case "equipment" -> options.equipment = Integer.parseInt(value);
+                case "requests" -> options.requests = Integer.parseInt(value);
+                case "years" -> options.years = Integer.parseInt(value);
+                case "future-days" -> options.futureDays = Integer.parseInt(value);
+                case "batch-size" -> options.batchSize = Integer.parseInt(value);
+                case "seed" -> options.seed = Long.parseLong(value);
+                case "item-skew" -> options.itemSkew = Double.parseDouble(value);
+                case "exam-peak" -> options.examPeakFactor = Double.parseDouble(value);
+                case "exam-weeks" -> options.examWeeks = Arrays.stream(value.split(","))
+                        .mapToInt(week -> Integer.parseInt(week.trim()))
+                        .toArray();
+                case "profile" -> options.profile = value;
+                default -> throw new IllegalArgumentException("Unknown option: --" + name);
+            }
+        }
+        if (options.staff >= options.users) {
+            throw new IllegalArgumentException("--staff must be smaller than --users");
+        }
+        return options;
+    }
+
+    @Override
+    public String toString() {
+        return "users=" + users + ", staff=" + staff + ", equipment=" + equipment + ", requests=" + requests
+                + ", years=" + years + ", futureDays=" + futureDays + ", batchSize=" + batchSize
+                + ", seed=" + seed + ", itemSkew=" + itemSkew + ", examPeak=" + examPeakFactor
+                + ", examWeeks=" + Arrays.toString(examWeeks) + ", profile=" + profile;
+    }
+}
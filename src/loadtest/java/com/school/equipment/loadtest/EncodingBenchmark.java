@@ -0,0 +1,142 @@
+package com.school.equipment.loadtest;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.school.equipment.EquipmentLendingApplication;
+import com.school.equipment.dto.borrow.BorrowRequestResponse;
+import com.school.equipment.dto.equipment.EquipmentResponse;
+import com.school.equipment.entity.Status;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Compares payload size and encode/decode time of the JSON, CBOR and Smile encodings on
+ * synthetic {@code List<EquipmentResponse>} and {@code List<BorrowRequestResponse>} pages.
+ * The object mappers are taken from the application context, so each format is measured
+ * with exactly the settings the API uses.
+ *
+ * <p>Run with {@code ./gradlew encodingBenchmark -PbenchmarkArgs="--items=1000 --iterations=500"}.
+ */
+public class EncodingBenchmark {
+
+    private static final String[] CATEGORIES = {"Sports", "Lab", "Music", "Camera", "Computing"};
+
+    private static final Status[] STATUSES = {Status.PENDING, Status.APPROVED, Status.RETURNED, Status.REJECTED};
+
+    public static void main(String[] args) throws IOException {
+        int items = 1_000;
+        int iterations = 500;
+        int warmup = 200;
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            String name = arg.substring(2, arg.indexOf('='));
+            int value = Integer.parseInt(arg.substring(arg.indexOf('=') + 1));
+            switch (name) {
+                case "items" -> items = value;
+                case "iterations" -> iterations = value;
+                case "warmup" -> warmup = value;
+                default -> throw new IllegalArgumentException("Unknown option: --" + name);
+            }
+        }
+        System.setProperty("spring.devtools.restart.enabled", "false");
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(EquipmentLendingApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("loadtest")
+                .run()) {
+            Map<String, ObjectMapper> mappers = new LinkedHashMap<>();
+            mappers.put("json", context.getBean(ObjectMapper.class));
+            mappers.put("cbor", context.getBean(MappingJackson2CborHttpMessageConverter.class).getObjectMapper());
+            mappers.put("smile", context.getBean(MappingJackson2SmileHttpMessageConverter.class).getObjectMapper());
+
+            Random random = new Random(42L);
+            List<EquipmentResponse> equipment = equipment(items, random);
+            List<BorrowRequestResponse> requests = requests(items, random);
+
+            System.out.printf("%d items per payload, %d measured iterations%n", items, iterations);
+            System.out.printf("%-24s %-6s %12s %10s %14s %14s%n",
+                    "payload", "format", "bytes", "vs json", "encode us", "decode us");
+            run("List<EquipmentResponse>", equipment, new TypeReference<List<EquipmentResponse>>() { },
+                    mappers, warmup, iterations);
+            run("List<BorrowRequestResponse>", requests, new TypeReference<List<BorrowRequestResponse>>() { },
+                    mappers, warmup, iterations);
+        }
+    }
+
+    private static <T> void run(String payload, T value, TypeReference<T> type, Map<String, ObjectMapper> mappers,
+                                int warmup, int iterations) throws IOException {
+        long jsonBytes = 0;
+        for (Map.Entry<String, ObjectMapper> entry : mappers.entrySet()) {
+            ObjectMapper mapper = entry.getValue();
+            byte[] encoded = mapper.writeValueAsBytes(value);
+            if (jsonBytes == 0) {
+                jsonBytes = encoded.length;
+            }
+
+            for (int i = 0; i < warmup; i++) {
+                mapper.readValue(mapper.writeValueAsBytes(value), type);
+            }
+            long encodeNanos = 0;
+            long decodeNanos = 0;
+            for (int i = 0; i < iterations; i++) {
+                long start = System.nanoTime();
+                byte[] bytes = mapper.writeValueAsBytes(value);
+                long encodedAt = System.nanoTime();
+                mapper.readValue(bytes, type);
+                decodeNanos += System.nanoTime() - encodedAt;
+                encodeNanos += encodedAt - start;
+            }
+
+            System.out.printf("%-24s %-6s %12d %9.0f%% %14.1f %14.1f%n",
+                    payload, entry.getKey(), encoded.length, 100.0 * encoded.length / jsonBytes,
+                    encodeNanos / 1_000.0 / iterations, decodeNanos / 1_000.0 / iterations);
+        }
+    }
+
+    private static List<EquipmentResponse> equipment(int count, Random random) {
+        List<EquipmentResponse> list = new ArrayList<>(count);
+        LocalDateTime base = LocalDateTime.of(2025, 1, 15, 8, 0);
+        for (int i = 0; i < count; i++) {
+            String category = CATEGORIES[i % CATEGORIES.length];
+            int total = 1 + random.nextInt(30);
+            LocalDateTime createdAt = base.plusMinutes(random.nextInt(500_000)).plusNanos(random.nextInt(1_000_000) * 1_000L);
+            list.add(new EquipmentResponse((long) i + 1, category + " item " + (i + 1), category, "Good", total,
+                    random.nextInt(total + 1), true, random.nextBoolean() ? "Generated equipment" : null,
+                    "Load Test Admin", createdAt, createdAt.plusDays(random.nextInt(30))));
+        }
+        return list;
+    }
+
+    private static List<BorrowRequestResponse> requests(int count, Random random) {
+        List<BorrowRequestResponse> list = new ArrayList<>(count);
+        LocalDateTime base = LocalDateTime.of(2025, 1, 15, 8, 0);
+        for (int i = 0; i < count; i++) {
+            Status status = STATUSES[random.nextInt(STATUSES.length)];
+            LocalDate fromDate = LocalDate.of(2025, 1, 15).plusDays(random.nextInt(300));
+            LocalDate toDate = fromDate.plusDays(random.nextInt(5));
+            LocalDateTime createdAt = base.plusMinutes(random.nextInt(500_000)).plusNanos(random.nextInt(1_000_000) * 1_000L);
+            boolean decided = status != Status.PENDING;
+            boolean returned = status == Status.RETURNED;
+            list.add(new BorrowRequestResponse((long) i + 1, 1L + random.nextInt(10_000), "Camera item " + i,
+                    1L + random.nextInt(50_000), "Student " + i, 1 + random.nextInt(3), fromDate, toDate,
+                    returned ? toDate : null, "Class project", status, decided ? "Approved at desk" : null,
+                    returned ? "Good" : null, decided && status != Status.REJECTED ? "Staff Member" : null,
+                    createdAt, decided ? createdAt.plusHours(random.nextInt(48)) : createdAt));
+        }
+        return list;
+    }
+}
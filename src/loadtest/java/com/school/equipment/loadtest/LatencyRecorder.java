@@ -0,0 +1,88 @@
+package com.school.equipment.loadtest;
+
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Collects raw latency samples per endpoint so exact percentiles can be reported
+ * once the run is over.
+ */
+public class LatencyRecorder {
+
+    private final Map<String, EndpointSamples> samples = new ConcurrentHashMap<>();
+
+    private volatile boolean recording;
+
+    public void start() {
+        samples.clear();
+        recording = true;
+    }
+
+    public void stop() {
+        recording = false;
+    }
+
+    public void record(String endpoint, long nanos, boolean success) {
+        if (recording) {
+            samples.computeIfAbsent(endpoint, key -> new EndpointSamples()).add(nanos, success);
+        }
+    }
+
+    public void report(PrintStream out, double elapsedSeconds) {
+        out.printf("%-36s %9s %7s %10s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms");
+        long totalRequests = 0;
+        for (Map.Entry<String, EndpointSamples> entry : new TreeMap<>(samples).entrySet()) {
+            long[] sorted = entry.getValue().sorted();
+            totalRequests += sorted.length;
+            out.printf("%-36s %9d %7d %10.1f %9.2f %9.2f %9.2f %9.2f%n",
+                    entry.getKey(),
+                    sorted.length,
+                    entry.getValue().errors(),
+                    sorted.length / elapsedSeconds,
+                    percentile(sorted, 0.50),
+                    percentile(sorted, 0.99),
+                    percentile(sorted, 0.999),
+                    sorted.length == 0 ? 0.0 : sorted[sorted.length - 1] / 1_000_000.0);
+        }
+        out.printf("total: %d requests in %.1fs (%.1f req/s)%n",
+                totalRequests, elapsedSeconds, totalRequests / elapsedSeconds);
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0.0;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1_000_000.0;
+    }
+
+    private static final class EndpointSamples {
+        private long[] nanos = new long[1024];
+        private int size;
+        private long errors;
+
+        synchronized void add(long value, boolean success) {
+            if (size == nanos.length) {
+                nanos = Arrays.copyOf(nanos, size * 2);
+            }
+            nanos[size++] = value;
+            if (!success) {
+                errors++;
+            }
+        }
+
+        synchronized long[] sorted() {
+            long[] copy = Arrays.copyOf(nanos, size);
+            Arrays.sort(copy);
+            return copy;
+        }
+
+        synchronized long errors() {
+            return errors;
+        }
+    }
+}
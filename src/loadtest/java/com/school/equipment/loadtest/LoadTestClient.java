@@ -0,0 +1,81 @@
+package com.school.equipment.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+/**
+ * Thin HTTP client that times every call and files it under a templated endpoint
+ * name such as {@code GET /api/equipment/{id}}.
+ */
+public class LoadTestClient {
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private final String baseUrl;
+
+    private final ObjectMapper objectMapper;
+
+    private final LatencyRecorder recorder;
+
+    public LoadTestClient(String baseUrl, ObjectMapper objectMapper, LatencyRecorder recorder) {
+        this.baseUrl = baseUrl;
+        this.objectMapper = objectMapper;
+        this.recorder = recorder;
+    }
+
+    public JsonNode get(String endpoint, String path, String token) {
+        return send(endpoint, HttpRequest.newBuilder(URI.create(baseUrl + path)).GET(), token);
+    }
+
+    public JsonNode post(String endpoint, String path, Object body, String token) {
+        return send(endpoint, HttpRequest.newBuilder(URI.create(baseUrl + path)).POST(json(body)), token);
+    }
+
+    public JsonNode put(String endpoint, String path, Object body, String token) {
+        return send(endpoint, HttpRequest.newBuilder(URI.create(baseUrl + path)).PUT(json(body)), token);
+    }
+
+    private HttpRequest.BodyPublisher json(Object body) {
+        try {
+            return HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body));
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not serialize request body", e);
+        }
+    }
+
+    /**
+     * Returns the parsed response body for 2xx responses and {@code null} otherwise.
+     */
+    private JsonNode send(String endpoint, HttpRequest.Builder builder, String token) {
+        builder.header("Content-Type", "application/json").timeout(Duration.ofSeconds(30));
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+
+        long start = System.nanoTime();
+        try {
+            HttpResponse<byte[]> response = httpClient.send(builder.build(), HttpResponse.BodyHandlers.ofByteArray());
+            boolean success = response.statusCode() / 100 == 2;
+            recorder.record(endpoint, System.nanoTime() - start, success);
+            if (!success || response.body().length == 0) {
+                return null;
+            }
+            return objectMapper.readTree(response.body());
+        } catch (IOException e) {
+            recorder.record(endpoint, System.nanoTime() - start, false);
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+}
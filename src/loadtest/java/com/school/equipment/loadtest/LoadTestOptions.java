@@ -0,0 +1,68 @@
+package com.school.equipment.loadtest;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Command line options for the load test, given as {@code --name=value} pairs.
+ * Scenario weights are given as {@code --mix=login:10,browse:60,create:20,staff:10} and extra
+ * Spring profiles as {@code --profiles=loadtest,replica}.
+ */
+public class LoadTestOptions {
+
+    int durationSeconds = 60;
+    int warmupSeconds = 10;
+    int concurrency = 32;
+    int students = 200;
+    int staff = 10;
+    int equipment = 100;
+    long seed = 42L;
+    String[] profiles = {"loadtest"};
+    final Map<Scenario, Integer> mix = new EnumMap<>(Scenario.class);
+
+    public LoadTestOptions() {
+        mix.put(Scenario.LOGIN_STORM, 10);
+        mix.put(Scenario.CATALOG_BROWSING, 60);
+        mix.put(Scenario.REQUEST_CREATION, 20);
+        mix.put(Scenario.STAFF_APPROVAL, 10);
+    }
+
+    public static LoadTestOptions parse(String[] args) {
+        LoadTestOptions options = new LoadTestOptions();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            String name = arg.substring(2, arg.indexOf('='));
+            String value = arg.substring(arg.indexOf('=') + 1);
+            switch (name) {
+                case "duration" -> options.durationSeconds = Integer.parseInt(value);
+                case "warmup" -> options.warmupSeconds = Integer.parseInt(value);
+                case "concurrency" -> options.concurrency = Integer.parseInt(value);
+                case "students" -> options.students = Integer.parseInt(value);
+                case "staff" -> options.staff = Integer.parseInt(value);
+                case "equipment" -> options.equipment = Integer.parseInt(value);
+                case "seed" -> options.seed = Long.parseLong(value);
+                case "mix" -> options.parseMix(value);
+                case "profiles" -> options.profiles = value.split(",");
+                default -> throw new IllegalArgumentException("Unknown option: --" + name);
+            }
+        }
+        return options;
+    }
+
+    private void parseMix(String value) {
+        mix.replaceAll((scenario, weight) -> 0);
+        for (String entry : value.split(",")) {
+            String[] parts = entry.split(":");
+            mix.put(Scenario.fromKey(parts[0].trim()), Integer.parseInt(parts[1].trim()));
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "duration=" + durationSeconds + "s, warmup=" + warmupSeconds + "s, concurrency=" + concurrency
+                + ", students=" + students + ", staff=" + staff + ", equipment=" + equipment
+                + ", seed=" + seed + ", profiles=" + String.join(",", profiles) + ", mix=" + mix;
+    }
+}
@@ -0,0 +1,253 @@
+package com.school.equipment.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.school.equipment.EquipmentLendingApplication;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Boots the service on loopback with the {@code loadtest} profile (embedded H2 in MySQL mode),
+ * seeds users and equipment through the public API and then drives a weighted mix of
+ * scenarios from a fixed pool of workers. Latency is only recorded after the warmup period.
+ * Connection pool occupancy and hold time are reported alongside the latencies.
+ *
+ * <p>Run with {@code ./gradlew loadTest -PloadTestArgs="--duration=120 --concurrency=64"}.
+ */
+public class LoadTestRunner {
+
+    private static final String PASSWORD = "LoadTest123!";
+
+    private final LoadTestOptions options;
+
+    private final LoadTestClient client;
+
+    private final LatencyRecorder recorder;
+
+    private final PoolMonitor poolMonitor;
+
+    private final List<Actor> students = new CopyOnWriteArrayList<>();
+
+    private final List<Actor> staff = new CopyOnWriteArrayList<>();
+
+    private final List<Long> equipmentIds = new CopyOnWriteArrayList<>();
+
+    // Own-request listings fetched right after a create, and those that missed the new request
+    private final AtomicLong ownReadChecks = new AtomicLong();
+
+    private final AtomicLong staleOwnReads = new AtomicLong();
+
+    public LoadTestRunner(LoadTestOptions options, LoadTestClient client, LatencyRecorder recorder,
+                          PoolMonitor poolMonitor) {
+        this.options = options;
+        this.client = client;
+        this.recorder = recorder;
+        this.poolMonitor = poolMonitor;
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        // Devtools would relaunch this main method in a restart class loader
+        System.setProperty("spring.devtools.restart.enabled", "false");
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(EquipmentLendingApplication.class)
+                .profiles(options.profiles)
+                .run()) {
+            int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            LatencyRecorder recorder = new LatencyRecorder();
+            LoadTestClient client = new LoadTestClient(
+                    "http://127.0.0.1:" + port, context.getBean(ObjectMapper.class), recorder);
+            PoolMonitor poolMonitor = new PoolMonitor(
+                    PoolMonitor.findPools(context.getBeansOfType(DataSource.class)), context.getBean(MeterRegistry.class));
+
+            System.out.println("Load test against port " + port + " with " + options);
+            new LoadTestRunner(options, client, recorder, poolMonitor).run();
+        }
+    }
+
+    public void run() throws InterruptedException {
+        ExecutorService workers = Executors.newFixedThreadPool(options.concurrency);
+        try {
+            seed(workers);
+
+            long warmupEnd = System.nanoTime() + TimeUnit.SECONDS.toNanos(options.warmupSeconds);
+            long end = warmupEnd + TimeUnit.SECONDS.toNanos(options.durationSeconds);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < options.concurrency; i++) {
+                Random random = new Random(options.seed + i);
+                futures.add(workers.submit(() -> {
+                    while (System.nanoTime() < end) {
+                        runScenario(pickScenario(random), random);
+                    }
+                }));
+            }
+
+            TimeUnit.NANOSECONDS.sleep(Math.max(0, warmupEnd - System.nanoTime()));
+            recorder.start();
+            poolMonitor.start();
+            long measureStart = System.nanoTime();
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException("Worker failed", e.getCause());
+                }
+            }
+            recorder.stop();
+            poolMonitor.stop();
+
+            recorder.report(System.out, (System.nanoTime() - measureStart) / 1_000_000_000.0);
+            poolMonitor.report(System.out);
+            System.out.printf("Read-your-writes: %,d of %,d listings right after a create missed the new request%n",
+                    staleOwnReads.get(), ownReadChecks.get());
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    private void seed(ExecutorService workers) throws InterruptedException {
+        Actor admin = register("loadtest_admin", "ADMIN");
+        Random random = new Random(options.seed);
+        String[] categories = {"Sports", "Lab", "Music", "Camera", "Computing"};
+        for (int i = 0; i < options.equipment; i++) {
+            JsonNode created = client.post("seed", "/api/equipment", Map.of(
+                    "name", "Item " + i,
+                    "category", categories[i % categories.length],
+                    "conditionStatus", "Good",
+                    "totalQuantity", 1 + random.nextInt(20),
+                    "availability", true,
+                    "description", "Synthetic load test item " + i), admin.token());
+            equipmentIds.add(created.get("equipmentId").asLong());
+        }
+
+        List<Callable<Void>> registrations = new ArrayList<>();
+        for (int i = 0; i < options.students; i++) {
+            String username = "loadtest_student_" + i;
+            registrations.add(() -> {
+                students.add(register(username, "STUDENT"));
+                return null;
+            });
+        }
+        for (int i = 0; i < options.staff; i++) {
+            String username = "loadtest_staff_" + i;
+            registrations.add(() -> {
+                staff.add(register(username, "STAFF"));
+                return null;
+            });
+        }
+        workers.invokeAll(registrations);
+        System.out.println("Seeded " + students.size() + " students, " + staff.size() + " staff and "
+                + equipmentIds.size() + " equipment items");
+    }
+
+    private Actor register(String username, String role) {
+        client.post("seed", "/api/auth/signup", Map.of(
+                "username", username,
+                "password", PASSWORD,
+                "fullName", "Load Test " + username,
+                "role", role), null);
+        JsonNode login = login(username);
+        if (login == null) {
+            throw new IllegalStateException("Could not log in seeded user " + username);
+        }
+        return new Actor(username, login.get("userId").asLong(), login.get("token").asText());
+    }
+
+    private JsonNode login(String username) {
+        return client.post("POST /api/auth/login", "/api/auth/login",
+                Map.of("username", username, "password", PASSWORD), null);
+    }
+
+    private Scenario pickScenario(Random random) {
+        int total = options.mix.values().stream().mapToInt(Integer::intValue).sum();
+        int roll = random.nextInt(total);
+        for (Map.Entry<Scenario, Integer> entry : options.mix.entrySet()) {
+            roll -= entry.getValue();
+            if (roll < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException("Scenario mix has no weights");
+    }
+
+    private void runScenario(Scenario scenario, Random random) {
+        switch (scenario) {
+            case LOGIN_STORM -> login(pick(students, random).username());
+            case CATALOG_BROWSING -> browseCatalog(random);
+            case REQUEST_CREATION -> createRequest(random);
+            case STAFF_APPROVAL -> approveOrReturn(random);
+        }
+    }
+
+    private void browseCatalog(Random random) {
+        String token = pick(students, random).token();
+        client.get("GET /api/equipment", "/api/equipment", token);
+        for (int i = 0; i < 2; i++) {
+            client.get("GET /api/equipment/{id}", "/api/equipment/" + pick(equipmentIds, random), token);
+        }
+        client.get("GET /api/equipment/{id}/availability",
+                "/api/equipment/" + pick(equipmentIds, random) + "/availability", token);
+    }
+
+    private void createRequest(Random random) {
+        Actor student = pick(students, random);
+        LocalDate fromDate = LocalDate.now().plusDays(1 + random.nextInt(60));
+        JsonNode created = client.post("POST /api/requests", "/api/requests", Map.of(
+                "equipmentId", pick(equipmentIds, random),
+                "quantity", 1,
+                "fromDate", fromDate.toString(),
+                "toDate", fromDate.plusDays(random.nextInt(5)).toString(),
+                "reason", "Load test"), student.token());
+        JsonNode mine = client.get("GET /api/requests/my", "/api/requests/my", student.token());
+        if (created != null && mine != null) {
+            checkOwnRead(created.get("requestId").asLong(), mine);
+        }
+    }
+
+    // With replica routing, a user's own listing must come from the primary until the replica caught up
+    private void checkOwnRead(long requestId, JsonNode mine) {
+        ownReadChecks.incrementAndGet();
+        for (JsonNode request : mine) {
+            if (request.get("requestId").asLong() == requestId) {
+                return;
+            }
+        }
+        staleOwnReads.incrementAndGet();
+    }
+
+    private void approveOrReturn(Random random) {
+        Actor member = pick(staff, random);
+        if (random.nextBoolean()) {
+            JsonNode pending = client.get("GET /api/requests/pending", "/api/requests/pending", member.token());
+            if (pending != null && !pending.isEmpty()) {
+                long requestId = pending.get(random.nextInt(pending.size())).get("requestId").asLong();
+                client.put("PUT /api/requests/{id}/approve", "/api/requests/" + requestId + "/approve",
+                        Map.of("approvedBy", member.userId(), "remarks", "Load test"), member.token());
+            }
+        } else {
+            JsonNode approved = client.get("GET /api/requests?status=", "/api/requests?status=APPROVED", member.token());
+            if (approved != null && !approved.isEmpty()) {
+                long requestId = approved.get(random.nextInt(approved.size())).get("requestId").asLong();
+                client.put("PUT /api/requests/{id}/return", "/api/requests/" + requestId + "/return",
+                        Map.of("returnDate", LocalDate.now().toString(), "conditionAfterUse", "Good"), member.token());
+            }
+        }
+    }
+
+    private static <T> T pick(List<T> values, Random random) {
+        return values.get(random.nextInt(values.size()));
+    }
+
+    private record Actor(String username, Long userId, String token) {
+    }
+}
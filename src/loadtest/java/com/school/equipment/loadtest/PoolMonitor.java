@@ -0,0 +1,95 @@
+package com.school.equipment.loadtest;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import javax.sql.DataSource;
+import java.io.PrintStream;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Samples active connections of every Hikari pool during the measured run and reports
+ * occupancy together with Hikari's own connection hold-time timer
+ * ({@code hikaricp.connections.usage}), which is what open-session-in-view inflates.
+ */
+public class PoolMonitor {
+
+    private final Map<String, HikariDataSource> pools;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, long[]> samples = new TreeMap<>();
+
+    private final ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "pool-monitor");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public PoolMonitor(Map<String, HikariDataSource> pools, MeterRegistry meterRegistry) {
+        this.pools = pools;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Hikari pools behind the given DataSource beans, keyed by pool name. The application
+     * DataSource is wrapped for statement counting, so pools are found by unwrapping.
+     */
+    public static Map<String, HikariDataSource> findPools(Map<String, DataSource> dataSources) throws SQLException {
+        Map<String, HikariDataSource> pools = new TreeMap<>();
+        for (DataSource dataSource : dataSources.values()) {
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                HikariDataSource pool = dataSource.unwrap(HikariDataSource.class);
+                pools.put(pool.getPoolName(), pool);
+            }
+        }
+        return pools;
+    }
+
+    public void start() {
+        pools.values().forEach(pool -> samples.put(pool.getPoolName(), new long[3]));
+        sampler.scheduleAtFixedRate(this::sample, 0, 10, TimeUnit.MILLISECONDS);
+    }
+
+    public void stop() {
+        sampler.shutdownNow();
+    }
+
+    private synchronized void sample() {
+        for (HikariDataSource pool : pools.values()) {
+            HikariPoolMXBean mxBean = pool.getHikariPoolMXBean();
+            if (mxBean == null) {
+                continue;
+            }
+            // [0] = sample count, [1] = sum of active connections, [2] = max active connections
+            long[] stats = samples.get(pool.getPoolName());
+            int active = mxBean.getActiveConnections();
+            stats[0]++;
+            stats[1] += active;
+            stats[2] = Math.max(stats[2], active);
+        }
+    }
+
+    public synchronized void report(PrintStream out) {
+        out.printf("%-16s %8s %12s %11s %16s %15s%n",
+                "pool", "size", "mean active", "max active", "mean hold ms", "max hold ms");
+        for (HikariDataSource pool : pools.values()) {
+            long[] stats = samples.get(pool.getPoolName());
+            Timer usage = meterRegistry.find("hikaricp.connections.usage").tag("pool", pool.getPoolName()).timer();
+            out.printf("%-16s %8d %12.2f %11d %16.2f %15.2f%n",
+                    pool.getPoolName(),
+                    pool.getMaximumPoolSize(),
+                    stats[0] == 0 ? 0.0 : (double) stats[1] / stats[0],
+                    stats[2],
+                    usage != null ? usage.mean(TimeUnit.MILLISECONDS) : 0.0,
+                    usage != null ? usage.max(TimeUnit.MILLISECONDS) : 0.0);
+        }
+    }
+}
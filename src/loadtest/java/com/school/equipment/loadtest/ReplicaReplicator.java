@@ -0,0 +1,122 @@
+package com.school.equipment.loadtest;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stands in for MySQL replication in the {@code replica} load test profile. Primary and replica
+ * are two embedded H2 databases; every {@code app.loadtest.replica.lag} all tables of the
+ * primary are copied to the replica in one transaction through H2 linked tables. Reads routed
+ * to the replica therefore trail committed writes by up to the lag plus the copy time, which
+ * is what the read-your-writes window has to cover.
+ */
+@Component
+@Profile("replica")
+// The schema exists once the EntityManagerFactory has run ddl-auto against the primary
+@DependsOn("entityManagerFactory")
+public class ReplicaReplicator {
+
+    private final String primaryUrl;
+
+    private final String replicaUrl;
+
+    private final String username;
+
+    private final String password;
+
+    private final Duration lag;
+
+    private final Set<String> linkedTables = new HashSet<>();
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "replica-replicator");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public ReplicaReplicator(@Value("${app.datasource.primary.jdbc-url}") String primaryUrl,
+                             @Value("${app.datasource.replica.jdbc-url}") String replicaUrl,
+                             @Value("${app.datasource.primary.username}") String username,
+                             @Value("${app.datasource.primary.password}") String password,
+                             @Value("${app.loadtest.replica.lag:500ms}") Duration lag) {
+        if (primaryUrl.equals(replicaUrl)) {
+            throw new IllegalStateException("The replica profile needs separate primary and replica databases");
+        }
+        this.primaryUrl = primaryUrl;
+        this.replicaUrl = replicaUrl;
+        this.username = username;
+        this.password = password;
+        this.lag = lag;
+    }
+
+    @PostConstruct
+    public void start() throws SQLException {
+        // Replica reads at startup must find the tables
+        replicate();
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                replicate();
+            } catch (SQLException e) {
+                System.err.println("Replica refresh failed: " + e.getMessage());
+            }
+        }, lag.toMillis(), lag.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        scheduler.shutdownNow();
+    }
+
+    private void replicate() throws SQLException {
+        try (Connection primary = DriverManager.getConnection(primaryUrl, username, password);
+             Connection replica = DriverManager.getConnection(replicaUrl, username, password);
+             Statement statement = replica.createStatement()) {
+            for (String table : tables(primary)) {
+                if (linkedTables.add(table)) {
+                    statement.execute("CREATE LINKED TABLE IF NOT EXISTS source_" + table + "('org.h2.Driver', '"
+                            + primaryUrl + "', '" + username + "', '" + password + "', '" + table + "')");
+                    statement.execute("CREATE TABLE IF NOT EXISTS " + table
+                            + " AS SELECT * FROM source_" + table + " WITH NO DATA");
+                }
+            }
+
+            // One transaction, so replica readers see a consistent snapshot of the primary
+            replica.setAutoCommit(false);
+            for (String table : linkedTables) {
+                statement.execute("DELETE FROM " + table);
+                statement.execute("INSERT INTO " + table + " SELECT * FROM source_" + table);
+            }
+            replica.commit();
+        }
+    }
+
+    private static List<String> tables(Connection primary) throws SQLException {
+        List<String> tables = new ArrayList<>();
+        try (ResultSet resultSet = primary.getMetaData().getTables(null, null, "%", new String[]{"TABLE"})) {
+            while (resultSet.next()) {
+                if ("public".equalsIgnoreCase(resultSet.getString("TABLE_SCHEM"))) {
+                    tables.add(resultSet.getString("TABLE_NAME"));
+                }
+            }
+        }
+        return tables;
+    }
+}
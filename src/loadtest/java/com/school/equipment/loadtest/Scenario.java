@@ -0,0 +1,23 @@
+package com.school.equipment.loadtest;
+
+import java.util.Arrays;
+
+public enum Scenario {
+    LOGIN_STORM("login"),
+    CATALOG_BROWSING("browse"),
+    REQUEST_CREATION("create"),
+    STAFF_APPROVAL("staff");
+
+    private final String key;
+
+    Scenario(String key) {
+        this.key = key;
+    }
+
+    public static Scenario fromKey(String key) {
+        return Arrays.stream(values())
+                .filter(scenario -> scenario.key.equals(key))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown scenario: " + key));
+    }
+}
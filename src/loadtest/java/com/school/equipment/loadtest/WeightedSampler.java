@@ -0,0 +1,41 @@
+package com.school.equipment.loadtest;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Samples indexes in proportion to fixed weights using a cumulative table and binary search.
+ */
+public class WeightedSampler {
+
+    private final double[] cumulative;
+
+    public WeightedSampler(double[] weights) {
+        cumulative = new double[weights.length];
+        double sum = 0;
+        for (int i = 0; i < weights.length; i++) {
+            sum += weights[i];
+            cumulative[i] = sum;
+        }
+        if (sum <= 0) {
+            throw new IllegalArgumentException("At least one weight must be positive");
+        }
+    }
+
+    /**
+     * Weights following a Zipf distribution over ranks, so index 0 is the most popular.
+     */
+    public static WeightedSampler zipf(int size, double exponent) {
+        double[] weights = new double[size];
+        for (int rank = 0; rank < size; rank++) {
+            weights[rank] = 1.0 / Math.pow(rank + 1, exponent);
+        }
+        return new WeightedSampler(weights);
+    }
+
+    public int sample(Random random) {
+        double target = random.nextDouble() * cumulative[cumulative.length - 1];
+        int index = Arrays.binarySearch(cumulative, target);
+        return index >= 0 ? index : Math.min(-index - 1, cumulative.length - 1);
+    }
+}
@@ -0,0 +1,108 @@
+package com.school.equipment.batch;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Moves booking rows that can no longer affect availability (RELEASED, or dated before
+ * today) from equipment_booking into equipment_booking_history, so the availability SUMs
+ * only ever see live reservations.
+ *
+ * <p>Rows move in chunks of {@code app.booking-compaction.chunk-size} by primary key. Each
+ * chunk is one short transaction doing INSERT ... SELECT followed by DELETE, so a crash
+ * leaves a row in exactly one of the two tables, and row locks are held only for one chunk.
+ * The job pauses between chunks to leave headroom for request traffic.
+ */
+@Slf4j
+@Component
+public class BookingCompactionJob {
+
+    private static final String SELECT_RELEASED =
+            "SELECT booking_id FROM equipment_booking WHERE status = 'RELEASED' ORDER BY booking_id LIMIT :limit";
+
+    private static final String SELECT_PAST =
+            "SELECT booking_id FROM equipment_booking WHERE status = 'ACTIVE' AND booking_date < :today " +
+            "ORDER BY booking_id LIMIT :limit";
+
+    private static final String COPY_TO_HISTORY =
+            "INSERT INTO equipment_booking_history " +
+            "(booking_id, request_id, equipment_id, booking_date, quantity, status, created_at, archived_at) " +
+            "SELECT booking_id, request_id, equipment_id, booking_date, quantity, status, created_at, :archivedAt " +
+            "FROM equipment_booking WHERE booking_id IN (:ids)";
+
+    private static final String DELETE_MOVED =
+            "DELETE FROM equipment_booking WHERE booking_id IN (:ids)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final int chunkSize;
+
+    private final Duration pause;
+
+    public BookingCompactionJob(NamedParameterJdbcTemplate jdbcTemplate,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${app.booking-compaction.chunk-size:1000}") int chunkSize,
+                                @Value("${app.booking-compaction.pause:200ms}") Duration pause) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.pause = pause;
+    }
+
+    @Scheduled(cron = "${app.booking-compaction.cron:0 30 2 * * *}")
+    public void run() {
+        LocalDate today = LocalDate.now();
+        long moved = compact(SELECT_RELEASED, today) + compact(SELECT_PAST, today);
+        log.info("Booking compaction moved {} rows to equipment_booking_history", moved);
+    }
+
+    private long compact(String selectChunk, LocalDate today) {
+        long moved = 0;
+        int chunk;
+        do {
+            chunk = transactionTemplate.execute(status -> moveChunk(selectChunk, today));
+            moved += chunk;
+            if (chunk == chunkSize && !sleep()) {
+                break;
+            }
+        } while (chunk == chunkSize);
+        return moved;
+    }
+
+    private int moveChunk(String selectChunk, LocalDate today) {
+        List<Long> ids = jdbcTemplate.queryForList(selectChunk, new MapSqlParameterSource()
+                .addValue("today", today)
+                .addValue("limit", chunkSize), Long.class);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("ids", ids)
+                .addValue("archivedAt", LocalDateTime.now());
+        jdbcTemplate.update(COPY_TO_HISTORY, params);
+        return jdbcTemplate.update(DELETE_MOVED, params);
+    }
+
+    private boolean sleep() {
+        try {
+            Thread.sleep(pause.toMillis());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
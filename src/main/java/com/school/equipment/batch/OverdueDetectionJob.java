@@ -0,0 +1,114 @@
+package com.school.equipment.batch;
+
+import com.school.equipment.entity.BatchCheckpoint;
+import com.school.equipment.entity.BorrowRequest;
+import com.school.equipment.repository.BatchCheckpointRepository;
+import com.school.equipment.repository.BorrowRequestRepository;
+import com.school.equipment.service.BorrowRequestService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Marks APPROVED requests whose to_date has passed as OVERDUE.
+ *
+ * <p>The scan walks idx_borrow_request_status_to_date in keyset order (to_date, request_id)
+ * in chunks of {@code app.overdue.chunk-size}, so each chunk is an index range read no matter
+ * how large the table is. Every chunk commits together with the checkpoint row. A run
+ * interrupted by a restart resumes after the last committed chunk. Once a run for today has
+ * completed, later triggers on the same day do nothing.
+ */
+@Slf4j
+@Component
+public class OverdueDetectionJob {
+
+    static final String JOB_NAME = "overdue-detection";
+
+    private final BorrowRequestRepository borrowRequestRepository;
+
+    private final BorrowRequestService borrowRequestService;
+
+    private final BatchCheckpointRepository checkpointRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final int chunkSize;
+
+    public OverdueDetectionJob(BorrowRequestRepository borrowRequestRepository,
+                               BorrowRequestService borrowRequestService,
+                               BatchCheckpointRepository checkpointRepository,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${app.overdue.chunk-size:500}") int chunkSize) {
+        this.borrowRequestRepository = borrowRequestRepository;
+        this.borrowRequestService = borrowRequestService;
+        this.checkpointRepository = checkpointRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    @Scheduled(cron = "${app.overdue.cron:0 */15 * * * *}")
+    public void run() {
+        LocalDate today = LocalDate.now();
+        BatchCheckpoint checkpoint = transactionTemplate.execute(status -> startOrResume(today));
+        if (checkpoint.getCompletedAt() != null) {
+            return;
+        }
+        log.info("Overdue detection for {} resuming after ({}, {})",
+                today, checkpoint.getLastDate(), checkpoint.getLastId());
+
+        boolean more = true;
+        while (more) {
+            more = transactionTemplate.execute(status -> processChunk(today));
+        }
+    }
+
+    private BatchCheckpoint startOrResume(LocalDate today) {
+        BatchCheckpoint checkpoint = checkpointRepository.findById(JOB_NAME).orElseGet(() -> {
+            BatchCheckpoint created = new BatchCheckpoint();
+            created.setJobName(JOB_NAME);
+            return created;
+        });
+        // An unfinished run from an earlier day simply restarts with today's cutoff
+        if (!today.equals(checkpoint.getRunDate())) {
+            checkpoint.setRunDate(today);
+            checkpoint.setLastDate(LocalDate.EPOCH);
+            checkpoint.setLastId(0L);
+            checkpoint.setProcessed(0L);
+            checkpoint.setCompletedAt(null);
+        }
+        return checkpointRepository.save(checkpoint);
+    }
+
+    private boolean processChunk(LocalDate today) {
+        BatchCheckpoint checkpoint = checkpointRepository.findById(JOB_NAME)
+                .orElseThrow(() -> new IllegalStateException("Checkpoint missing for " + JOB_NAME));
+
+        List<BorrowRequest> chunk = borrowRequestRepository.findOverdueAfter(
+                today, checkpoint.getLastDate(), checkpoint.getLastId(), PageRequest.of(0, chunkSize));
+        if (!chunk.isEmpty()) {
+            BorrowRequest last = chunk.get(chunk.size() - 1);
+            List<Long> requestIds = chunk.stream().map(BorrowRequest::getRequestId).toList();
+            int marked = borrowRequestService.markOverdue(requestIds);
+
+            checkpoint.setLastDate(last.getToDate());
+            checkpoint.setLastId(last.getRequestId());
+            checkpoint.setProcessed(checkpoint.getProcessed() + marked);
+        }
+
+        boolean more = chunk.size() == chunkSize;
+        if (!more) {
+            checkpoint.setCompletedAt(LocalDateTime.now());
+            log.info("Overdue detection for {} complete, {} requests marked", today, checkpoint.getProcessed());
+        }
+        checkpointRepository.save(checkpoint);
+        return more;
+    }
+}
@@ -0,0 +1,111 @@
+package com.school.equipment.batch;
+
+import com.school.equipment.term.AcademicTerm;
+import com.school.equipment.term.AcademicTermCalendar;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Moves closed requests (RETURNED or REJECTED) of finished terms from borrow_request into
+ * borrow_request_archive, one term at a time, oldest first, in chunks of
+ * {@code app.term-archival.chunk-size}. Requests that still have rows in equipment_booking
+ * are left for a later run, after booking compaction has moved those rows to history;
+ * otherwise the cascade on equipment_booking would delete them.
+ */
+@Slf4j
+@Component
+public class TermArchivalJob {
+
+    private static final String ARCHIVABLE =
+            "FROM borrow_request br WHERE br.status IN ('RETURNED', 'REJECTED') AND br.from_date < :before " +
+            "AND NOT EXISTS (SELECT 1 FROM equipment_booking eb WHERE eb.request_id = br.request_id)";
+
+    private static final String SELECT_OLDEST = "SELECT MIN(br.from_date) " + ARCHIVABLE;
+
+    private static final String SELECT_CHUNK = "SELECT br.request_id " + ARCHIVABLE +
+            " AND br.from_date >= :termStart ORDER BY br.request_id LIMIT :limit";
+
+    private static final String COPY_TO_ARCHIVE =
+            "INSERT INTO borrow_request_archive (request_id, term, equipment_id, equipment_name, requested_by, " +
+            "requester_name, approver_name, quantity, from_date, to_date, return_date, reason, status, remarks, " +
+            "condition_after_use, created_at, updated_at, archived_at) " +
+            "SELECT br.request_id, :term, br.equipment_id, e.name, br.requested_by, u.full_name, a.full_name, " +
+            "br.quantity, br.from_date, br.to_date, br.return_date, br.reason, br.status, br.remarks, " +
+            "br.condition_after_use, br.created_at, br.updated_at, :archivedAt " +
+            "FROM borrow_request br " +
+            "JOIN equipment e ON e.equipment_id = br.equipment_id " +
+            "JOIN users u ON u.user_id = br.requested_by " +
+            "LEFT JOIN users a ON a.user_id = br.approved_by " +
+            "WHERE br.request_id IN (:ids)";
+
+    private static final String DELETE_FROM_VIEW = "DELETE FROM borrow_request_view WHERE request_id IN (:ids)";
+
+    private static final String DELETE_ARCHIVED = "DELETE FROM borrow_request WHERE request_id IN (:ids)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    private final AcademicTermCalendar termCalendar;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final int chunkSize;
+
+    public TermArchivalJob(NamedParameterJdbcTemplate jdbcTemplate, AcademicTermCalendar termCalendar,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${app.term-archival.chunk-size:500}") int chunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.termCalendar = termCalendar;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    @Scheduled(cron = "${app.term-archival.cron:0 0 3 * * SUN}")
+    public void run() {
+        LocalDate currentTermStart = termCalendar.current().start();
+        MapSqlParameterSource params = new MapSqlParameterSource("before", currentTermStart);
+
+        LocalDate oldest;
+        while ((oldest = jdbcTemplate.queryForObject(SELECT_OLDEST, params, LocalDate.class)) != null) {
+            AcademicTerm term = termCalendar.termOf(oldest);
+            long archived = archiveTerm(term);
+            log.info("Archived {} requests of term {}", archived, term.id());
+        }
+    }
+
+    private long archiveTerm(AcademicTerm term) {
+        long archived = 0;
+        int chunk;
+        do {
+            chunk = transactionTemplate.execute(status -> archiveChunk(term));
+            archived += chunk;
+        } while (chunk == chunkSize);
+        return archived;
+    }
+
+    private int archiveChunk(AcademicTerm term) {
+        List<Long> ids = jdbcTemplate.queryForList(SELECT_CHUNK, new MapSqlParameterSource()
+                .addValue("termStart", term.start())
+                .addValue("before", term.end())
+                .addValue("limit", chunkSize), Long.class);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("ids", ids)
+                .addValue("term", term.id())
+                .addValue("archivedAt", LocalDateTime.now());
+        jdbcTemplate.update(COPY_TO_ARCHIVE, params);
+        jdbcTemplate.update(DELETE_FROM_VIEW, params);
+        return jdbcTemplate.update(DELETE_ARCHIVED, params);
+    }
+}
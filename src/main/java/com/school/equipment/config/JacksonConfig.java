@@ -0,0 +1,20 @@
+package com.school.equipment.config;
+
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Response types carry {@code @JsonFilter(FieldSelection.FILTER)} for sparse fieldsets. Writes
+ * that do not go through {@code FieldSelection.apply}, such as outbox payloads, find no filter
+ * under that id and serialize every property.
+ */
+@Configuration
+public class JacksonConfig {
+
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer fieldSelectionFilterDefaults() {
+        return builder -> builder.filters(new SimpleFilterProvider().setFailOnUnknownId(false));
+    }
+}
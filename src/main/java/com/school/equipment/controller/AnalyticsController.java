@@ -0,0 +1,46 @@
+package com.school.equipment.controller;
+
+import com.school.equipment.dto.analytics.UtilizationResponse;
+import com.school.equipment.service.AnalyticsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/api/analytics")
+@CrossOrigin(origins = "*")
+public class AnalyticsController {
+
+    private final AnalyticsService analyticsService;
+
+    public AnalyticsController(AnalyticsService analyticsService) {
+        this.analyticsService = analyticsService;
+    }
+
+    @Operation(
+            summary = "Equipment utilization",
+            description = "Booked unit-days against capacity per item over live and archived bookings, plus the most borrowed items"
+    )
+    @GetMapping("/utilization")
+    @PreAuthorize("hasAnyRole('ADMIN', 'STAFF')")
+    public ResponseEntity<UtilizationResponse> getUtilization(
+            @Parameter(description = "First day (yyyy-MM-dd), defaults to one year before to")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Last day (yyyy-MM-dd), defaults to today")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @Parameter(description = "Only items in this category")
+            @RequestParam(required = false) String category,
+            @Parameter(description = "Size of the most borrowed list")
+            @RequestParam(defaultValue = "10") int top) {
+
+            LocalDate toDate = to != null ? to : LocalDate.now();
+            LocalDate fromDate = from != null ? from : toDate.minusYears(1).plusDays(1);
+            return ResponseEntity.ok(analyticsService.getUtilization(fromDate, toDate, category, top));
+
+    }
+}
@@ -80,4 +80,27 @@ public class AuthController {
         return ResponseEntity.ok(response);
 
     }
+
+    @Operation(
+            summary = "User logout",
+            description = "Revokes the bearer token sent with the request; it is rejected from then on"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "204",
+                    description = "Token revoked",
+                    content = @Content
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Missing or invalid token",
+                    content = @Content
+            )
+    })
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@RequestHeader(value = "Authorization", required = false) String authorization)
+            throws InvalidCredentialsException {
+        authService.logout(authorization);
+        return ResponseEntity.noContent().build();
+    }
 }
@@ -1,15 +1,22 @@
 package com.school.equipment.controller;
 
+import com.school.equipment.dto.batch.BatchGetItem;
+import com.school.equipment.dto.batch.BatchGetRequest;
 import com.school.equipment.dto.borrow.*;
 import com.school.equipment.entity.Status;
+import com.school.equipment.fields.FieldSelection;
 import com.school.equipment.security.AuthenticationHelper;
 import com.school.equipment.service.BorrowRequestService;
+import com.school.equipment.stream.PendingRequestStream;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -21,6 +28,9 @@ public class BorrowRequestController {
     @Autowired
     private BorrowRequestService borrowRequestService;
 
+    @Autowired
+    private PendingRequestStream pendingRequestStream;
+
     @PostMapping
     @PreAuthorize("hasAnyRole('STUDENT')")
     public ResponseEntity<CreateResponse> createBorrowRequest(
@@ -35,6 +45,56 @@ public class BorrowRequestController {
         }
     }
 
+    @PostMapping("/carts")
+    @PreAuthorize("hasAnyRole('STUDENT')")
+    public ResponseEntity<CartResponse> createCart(
+            @Valid @RequestBody CreateCartRequest request,
+            Authentication authentication) {
+        try {
+            Long userId = AuthenticationHelper.getUserIdFromAuthentication(authentication);
+            CartResponse response = borrowRequestService.createCart(request, userId);
+            return ResponseEntity.ok(response);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/carts/{id}")
+    public ResponseEntity<CartResponse> getCart(@PathVariable Long id) {
+        try {
+            CartResponse response = borrowRequestService.getCart(id);
+            return ResponseEntity.ok(response);
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    @PutMapping("/carts/{id}/approve")
+    @PreAuthorize("hasAnyRole('ADMIN', 'STAFF')")
+    public ResponseEntity<CartResponse> approveCart(
+            @PathVariable Long id,
+            @Valid @RequestBody ApproveRequest request) {
+        try {
+            CartResponse response = borrowRequestService.approveCart(id, request);
+            return ResponseEntity.ok(response);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @PutMapping("/carts/{id}/reject")
+    @PreAuthorize("hasAnyRole('ADMIN', 'STAFF')")
+    public ResponseEntity<CartResponse> rejectCart(
+            @PathVariable Long id,
+            @Valid @RequestBody RejectRequest request) {
+        try {
+            CartResponse response = borrowRequestService.rejectCart(id, request);
+            return ResponseEntity.ok(response);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<BorrowRequestResponse> getRequestById(@PathVariable Long id) {
         try {
@@ -45,12 +105,28 @@ public class BorrowRequestController {
         }
     }
 
+    @PostMapping("/batch-get")
+    public ResponseEntity<List<BatchGetItem<BorrowRequestResponse>>> getRequestsByIds(
+            @Valid @RequestBody BatchGetRequest request) {
+        try {
+            return ResponseEntity.ok(borrowRequestService.getRequestsByIds(request.getIds()));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @GetMapping("/my")
-    public ResponseEntity<List<BorrowRequestResponse>> getMyRequests(Authentication authentication) {
+    public ResponseEntity<MappingJacksonValue> getMyRequests(
+            @RequestParam(required = false) String term,
+            @RequestParam(defaultValue = "false") boolean includeArchived,
+            @RequestParam(required = false) String fields,
+            Authentication authentication) {
         try {
             Long userId = AuthenticationHelper.getUserIdFromAuthentication(authentication);
-            List<BorrowRequestResponse> response = borrowRequestService.getMyRequests(userId);
-            return ResponseEntity.ok(response);
+            FieldSelection selection = FieldSelection.parse(fields, BorrowRequestResponse.class);
+            List<BorrowRequestResponse> response =
+                    borrowRequestService.getMyRequests(userId, term, includeArchived, selection);
+            return ResponseEntity.ok(selection.apply(response));
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().build();
         }
@@ -58,28 +134,39 @@ public class BorrowRequestController {
 
     @GetMapping("/pending")
     @PreAuthorize("hasAnyRole('ADMIN', 'STAFF')")
-    public ResponseEntity<List<BorrowRequestResponse>> getPendingRequests() {
+    public ResponseEntity<MappingJacksonValue> getPendingRequests(@RequestParam(required = false) String fields) {
         try {
-            List<BorrowRequestResponse> response = borrowRequestService.getPendingRequests();
-            return ResponseEntity.ok(response);
+            FieldSelection selection = FieldSelection.parse(fields, BorrowRequestResponse.class);
+            List<BorrowRequestResponse> response = borrowRequestService.getPendingRequests(selection);
+            return ResponseEntity.ok(selection.apply(response));
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().build();
         }
     }
 
+    @GetMapping(value = "/pending/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasAnyRole('ADMIN', 'STAFF')")
+    public SseEmitter streamPendingRequests() {
+        return pendingRequestStream.subscribe();
+    }
+
     @GetMapping
     @PreAuthorize("hasAnyRole('ADMIN', 'STAFF')")
-    public ResponseEntity<List<BorrowRequestResponse>> getAllRequests(
+    public ResponseEntity<MappingJacksonValue> getAllRequests(
             @RequestParam(required = false) String status,
-            @RequestParam(required = false) Long userId) {
+            @RequestParam(required = false) Long userId,
+            @RequestParam(required = false) String term,
+            @RequestParam(defaultValue = "false") boolean includeArchived,
+            @RequestParam(required = false) String fields) {
         try {
             Status statusEnum = null;
             if (status != null) {
                 statusEnum = Status.valueOf(status.toUpperCase());
             }
+            FieldSelection selection = FieldSelection.parse(fields, BorrowRequestResponse.class);
             List<BorrowRequestResponse> response =
-                    borrowRequestService.getRequestsWithFilters(statusEnum, userId);
-            return ResponseEntity.ok(response);
+                    borrowRequestService.getRequestsWithFilters(statusEnum, userId, term, includeArchived, selection);
+            return ResponseEntity.ok(selection.apply(response));
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().build();
         }
@@ -1,9 +1,11 @@
 package com.school.equipment.controller;
 
+import com.school.equipment.dto.equipment.AvailabilityCalendarResponse;
 import com.school.equipment.dto.equipment.EquipmentCreateRequest;
 import com.school.equipment.dto.equipment.EquipmentCreateResponse;
 import com.school.equipment.dto.equipment.EquipmentResponse;
 import com.school.equipment.dto.equipment.EquipmentUpdateRequest;
+import com.school.equipment.fields.FieldSelection;
 import com.school.equipment.security.AuthenticationHelper;
 import com.school.equipment.service.EquipmentService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -12,11 +14,14 @@ import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -115,9 +120,36 @@ public class EquipmentController {
 
     }
 
+    @Operation(
+            summary = "Get availability calendar",
+            description = "Booked and available quantity per day for an equipment item, up to 92 days",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Availability calendar retrieved successfully",
+                            content = @Content(schema = @Schema(implementation = AvailabilityCalendarResponse.class))),
+                    @ApiResponse(responseCode = "400", description = "Invalid date range or equipment",
+                            content = @Content)
+            }
+    )
+    @GetMapping("/{id}/availability")
+    public ResponseEntity<AvailabilityCalendarResponse> getAvailabilityCalendar(
+            @Parameter(description = "Equipment ID", required = true)
+            @PathVariable Long id,
+            @Parameter(description = "First day (yyyy-MM-dd), defaults to today")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Last day (yyyy-MM-dd), defaults to 30 days after from")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+
+            LocalDate fromDate = from != null ? from : LocalDate.now();
+            LocalDate toDate = to != null ? to : fromDate.plusDays(30);
+            AvailabilityCalendarResponse response = equipmentService.getAvailabilityCalendar(id, fromDate, toDate);
+            return ResponseEntity.ok(response);
+
+    }
+
     @Operation(
             summary = "Get all equipment",
-            description = "Retrieves all equipment items, optionally filtered by category, availability, or search term",
+            description = "Retrieves all equipment items, optionally filtered by category, availability, or search term. "
+                    + "With ids, returns those items in the given order, each marked found or not found",
             responses = {
                     @ApiResponse(responseCode = "200", description = "Equipment list retrieved successfully",
                             content = @Content(schema = @Schema(implementation = EquipmentResponse.class))),
@@ -126,16 +158,24 @@ public class EquipmentController {
             }
     )
     @GetMapping
-    public ResponseEntity<List<EquipmentResponse>> getAllEquipment(
+    public ResponseEntity<MappingJacksonValue> getAllEquipment(
             @Parameter(description = "Filter by category")
             @RequestParam(required = false) String category,
             @Parameter(description = "Filter only available equipment")
             @RequestParam(required = false) Boolean availableOnly,
             @Parameter(description = "Search term for equipment name or description")
-            @RequestParam(required = false) String search) {
-
-            List<EquipmentResponse> response = equipmentService.getAllEquipment(category, availableOnly, search);
-            return ResponseEntity.ok(response);
+            @RequestParam(required = false) String search,
+            @Parameter(description = "Comma-separated response fields to return, e.g. equipmentId,name,availableQuantity")
+            @RequestParam(required = false) String fields,
+            @Parameter(description = "Comma-separated equipment IDs to fetch; returns one entry per ID in the given order")
+            @RequestParam(required = false) List<Long> ids) {
+
+            FieldSelection selection = FieldSelection.parse(fields, EquipmentResponse.class);
+            if (ids != null) {
+                return ResponseEntity.ok(selection.apply(equipmentService.getEquipmentByIds(ids)));
+            }
+            List<EquipmentResponse> response = equipmentService.getAllEquipment(category, availableOnly, search, selection);
+            return ResponseEntity.ok(selection.apply(response));
 
     }
 }
@@ -0,0 +1,30 @@
+package com.school.equipment.controller;
+
+import com.school.equipment.dto.stats.StatsSummaryResponse;
+import com.school.equipment.stats.LendingStats;
+import io.swagger.v3.oas.annotations.Operation;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/stats")
+@CrossOrigin(origins = "*")
+public class StatsController {
+
+    private final LendingStats lendingStats;
+
+    public StatsController(LendingStats lendingStats) {
+        this.lendingStats = lendingStats;
+    }
+
+    @Operation(
+            summary = "Dashboard summary",
+            description = "Request counts by status, units out per category and pending age, served from in-memory counters"
+    )
+    @GetMapping("/summary")
+    @PreAuthorize("hasAnyRole('ADMIN', 'STAFF')")
+    public ResponseEntity<StatsSummaryResponse> getSummary() {
+        return ResponseEntity.ok(lendingStats.summary());
+    }
+}
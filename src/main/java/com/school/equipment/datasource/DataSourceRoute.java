@@ -0,0 +1,5 @@
+package com.school.equipment.datasource;
+
+public enum DataSourceRoute {
+        PRIMARY, REPLICA
+    }
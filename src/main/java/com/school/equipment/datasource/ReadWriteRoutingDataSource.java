@@ -0,0 +1,47 @@
+package com.school.equipment.datasource;
+
+import com.school.equipment.security.AuthenticationHelper;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Sends connections for {@code @Transactional(readOnly = true)} work to the replica and
+ * everything else to the primary. Must sit behind a LazyConnectionDataSourceProxy so the
+ * lookup happens after the transaction's read-only flag has been set.
+ *
+ * <p>Users who committed a write within the read-your-writes window keep reading from the
+ * primary so they see their own changes despite replication lag.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    private final ReadYourWritesTracker readYourWritesTracker;
+
+    public ReadWriteRoutingDataSource(ReadYourWritesTracker readYourWritesTracker) {
+        this.readYourWritesTracker = readYourWritesTracker;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        Long userId = AuthenticationHelper.getUserIdFromAuthentication(
+                SecurityContextHolder.getContext().getAuthentication());
+
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (userId != null && TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        readYourWritesTracker.recordWrite(userId);
+                    }
+                });
+            }
+            return DataSourceRoute.PRIMARY;
+        }
+
+        if (readYourWritesTracker.mustReadFromPrimary(userId)) {
+            return DataSourceRoute.PRIMARY;
+        }
+        return DataSourceRoute.REPLICA;
+    }
+}
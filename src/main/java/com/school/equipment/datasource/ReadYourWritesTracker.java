@@ -0,0 +1,52 @@
+package com.school.equipment.datasource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers users who committed a write within the last replication-lag window so their
+ * reads can be pinned to the primary until the replica has caught up.
+ */
+@Component
+public class ReadYourWritesTracker {
+
+    private static final int PURGE_THRESHOLD = 10_000;
+
+    private final Map<Long, Long> pinnedUntil = new ConcurrentHashMap<>();
+
+    private final long windowNanos;
+
+    public ReadYourWritesTracker(@Value("${app.datasource.routing.read-your-writes-window:5s}") Duration window) {
+        this.windowNanos = window.toNanos();
+    }
+
+    public void recordWrite(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        long now = System.nanoTime();
+        pinnedUntil.put(userId, now + windowNanos);
+        if (pinnedUntil.size() > PURGE_THRESHOLD) {
+            pinnedUntil.values().removeIf(until -> until - now < 0);
+        }
+    }
+
+    public boolean mustReadFromPrimary(Long userId) {
+        if (userId == null) {
+            return false;
+        }
+        Long until = pinnedUntil.get(userId);
+        if (until == null) {
+            return false;
+        }
+        if (until - System.nanoTime() < 0) {
+            pinnedUntil.remove(userId, until);
+            return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,19 @@
+package com.school.equipment.dto.analytics;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItemUtilization {
+        private Long equipmentId;
+        private String name;
+        private String category;
+        private Integer totalQuantity;
+        private Long bookedUnitDays;
+        private Long capacityUnitDays;
+        private Double utilization;
+        private Long loans;
+}
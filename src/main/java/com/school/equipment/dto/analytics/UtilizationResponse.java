@@ -0,0 +1,20 @@
+package com.school.equipment.dto.analytics;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UtilizationResponse {
+        private LocalDate from;
+        private LocalDate to;
+        private String category;
+        private Long days;
+        private List<ItemUtilization> items;
+        private List<ItemUtilization> mostBorrowed;
+}
@@ -0,0 +1,22 @@
+package com.school.equipment.dto.batch;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One entry of a batch get, in the position of its id in the request. {@code item} is null
+ * when {@code found} is false.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchGetItem<T> {
+        private Long id;
+        private Boolean found;
+        private T item;
+
+        public static <T> BatchGetItem<T> of(Long id, T item) {
+                return new BatchGetItem<>(id, item != null, item);
+        }
+}
@@ -0,0 +1,22 @@
+package com.school.equipment.dto.batch;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchGetRequest {
+
+        public static final int MAX_IDS = 100;
+
+        @NotEmpty(message = "At least one id is required")
+        @Size(max = MAX_IDS, message = "At most " + MAX_IDS + " ids can be fetched at once")
+        private List<@NotNull Long> ids;
+}
@@ -1,15 +1,19 @@
 package com.school.equipment.dto.borrow;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
 import com.school.equipment.entity.Status;
+import com.school.equipment.fields.FieldSelection;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
+@JsonFilter(FieldSelection.FILTER)
 public class BorrowRequestResponse {
 
         private Long requestId;
@@ -26,7 +30,7 @@ public class BorrowRequestResponse {
         private String remarks;
         private String conditionAfterUse;
         private String approvedBy;
-        private String createdAt;
-        private String updatedAt;
+        private LocalDateTime createdAt;
+        private LocalDateTime updatedAt;
 
 }
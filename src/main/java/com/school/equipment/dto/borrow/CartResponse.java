@@ -0,0 +1,23 @@
+package com.school.equipment.dto.borrow;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CartResponse {
+
+        private Long cartId;
+        private Long userId;
+        private LocalDate fromDate;
+        private LocalDate toDate;
+        private String reason;
+        private LocalDateTime createdAt;
+        private List<BorrowRequestResponse> lines;
+}
@@ -0,0 +1,32 @@
+package com.school.equipment.dto.borrow;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CreateCartRequest {
+
+        public static final int MAX_LINES = 50;
+
+        @NotEmpty(message = "At least one line is required")
+        @Size(max = MAX_LINES, message = "At most " + MAX_LINES + " items can be borrowed in one cart")
+        private List<@Valid @NotNull CartLine> lines;
+
+        @NotNull(message = "From date is required")
+        private LocalDate fromDate;
+
+        @NotNull(message = "To date is required")
+        private LocalDate toDate;
+
+        private String reason;
+}
@@ -0,0 +1,16 @@
+package com.school.equipment.dto.equipment;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AvailabilityCalendarResponse {
+        private Long equipmentId;
+        private Integer totalQuantity;
+        private List<DayAvailability> days;
+}
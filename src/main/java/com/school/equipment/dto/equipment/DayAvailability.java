@@ -0,0 +1,16 @@
+package com.school.equipment.dto.equipment;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DayAvailability {
+        private LocalDate date;
+        private Integer booked;
+        private Integer available;
+}
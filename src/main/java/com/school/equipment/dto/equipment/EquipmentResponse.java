@@ -1,12 +1,17 @@
 package com.school.equipment.dto.equipment;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.school.equipment.fields.FieldSelection;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDateTime;
+
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
+@JsonFilter(FieldSelection.FILTER)
 public class EquipmentResponse {
         private Long equipmentId;
         private String name;
@@ -17,7 +22,7 @@ public class EquipmentResponse {
         private Boolean availability;
         private String description;
         private String createdBy;
-        private String createdAt;
-        private String updatedAt;
+        private LocalDateTime createdAt;
+        private LocalDateTime updatedAt;
 
 }
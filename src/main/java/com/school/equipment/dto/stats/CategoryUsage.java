@@ -0,0 +1,14 @@
+package com.school.equipment.dto.stats;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategoryUsage {
+        private String category;
+        private Long totalUnits;
+        private Long unitsOut;
+}
@@ -0,0 +1,22 @@
+package com.school.equipment.dto.stats;
+
+import com.school.equipment.entity.Status;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StatsSummaryResponse {
+        private Map<Status, Long> requestsByStatus;
+        private List<CategoryUsage> categories;
+        private Long pendingCount;
+        private String oldestPendingSince;
+        private Long oldestPendingAgeSeconds;
+        private Long averagePendingAgeSeconds;
+        private String reconciledAt;
+}
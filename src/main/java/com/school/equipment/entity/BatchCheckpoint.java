@@ -0,0 +1,40 @@
+package com.school.equipment.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "batch_checkpoint")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchCheckpoint {
+    @Id
+    @Column(name = "job_name", length = 100)
+    private String jobName;
+
+    @Column(name = "run_date")
+    private LocalDate runDate;
+
+    @Column(name = "last_date")
+    private LocalDate lastDate;
+
+    @Column(name = "last_id")
+    private Long lastId;
+
+    @Column(name = "processed", nullable = false)
+    private Long processed = 0L;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
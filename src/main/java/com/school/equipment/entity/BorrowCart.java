@@ -0,0 +1,43 @@
+package com.school.equipment.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Several items borrowed together for the same dates. Each line is a regular BorrowRequest
+ * pointing at the cart; the lines are created, approved and rejected as a unit.
+ */
+@Entity
+@Table(name = "borrow_cart")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BorrowCart {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "cart_id")
+    private Long cartId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "requested_by", nullable = false, foreignKey = @ForeignKey(name = "fk_borrow_cart_user"))
+    private User requestedBy;
+
+    @Column(name = "from_date", nullable = false)
+    private LocalDate fromDate;
+
+    @Column(name = "to_date", nullable = false)
+    private LocalDate toDate;
+
+    @Column(name = "reason")
+    private String reason;
+
+    @CreationTimestamp
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+}
@@ -11,7 +11,10 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "borrow_request")
+@Table(name = "borrow_request", indexes = {
+        @Index(name = "idx_borrow_request_status_to_date", columnList = "status, to_date"),
+        @Index(name = "idx_borrow_request_cart", columnList = "cart_id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -33,6 +36,10 @@ public class BorrowRequest {
     @JoinColumn(name = "approved_by", foreignKey = @ForeignKey(name = "fk_borrow_request_approved_by"))
     private User approvedBy;
 
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "cart_id", foreignKey = @ForeignKey(name = "fk_borrow_request_cart"))
+    private BorrowCart cart;
+
     @Column(name = "quantity", nullable = false)
     private Integer quantity;
 
@@ -49,7 +56,7 @@ public class BorrowRequest {
     private String reason;
 
     @Enumerated(EnumType.STRING)
-    @Column(name = "status")
+    @Column(name = "status", columnDefinition = "varchar(50)")
     private Status status = Status.PENDING;
 
     @Column(name = "remarks")
@@ -0,0 +1,79 @@
+package com.school.equipment.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Cold tier of borrow_request: closed requests from finished terms. Equipment and user names
+ * are copied in at archival time so history reads need no joins.
+ */
+@Entity
+@Table(name = "borrow_request_archive", indexes = {
+        @Index(name = "idx_borrow_request_archive_term", columnList = "term, status"),
+        @Index(name = "idx_borrow_request_archive_requester", columnList = "requested_by, term")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BorrowRequestArchive {
+    @Id
+    @Column(name = "request_id")
+    private Long requestId;
+
+    @Column(name = "term", nullable = false, length = 20)
+    private String term;
+
+    @Column(name = "equipment_id", nullable = false)
+    private Long equipmentId;
+
+    @Column(name = "equipment_name", length = 100)
+    private String equipmentName;
+
+    @Column(name = "requested_by", nullable = false)
+    private Long requestedBy;
+
+    @Column(name = "requester_name", length = 100)
+    private String requesterName;
+
+    @Column(name = "approver_name", length = 100)
+    private String approverName;
+
+    @Column(name = "quantity", nullable = false)
+    private Integer quantity;
+
+    @Column(name = "from_date", nullable = false)
+    private LocalDate fromDate;
+
+    @Column(name = "to_date", nullable = false)
+    private LocalDate toDate;
+
+    @Column(name = "return_date")
+    private LocalDate returnDate;
+
+    @Column(name = "reason")
+    private String reason;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", columnDefinition = "varchar(50)")
+    private Status status;
+
+    @Column(name = "remarks")
+    private String remarks;
+
+    @Column(name = "condition_after_use", length = 100)
+    private String conditionAfterUse;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+}
@@ -11,7 +11,9 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "equipment_booking")
+@Table(name = "equipment_booking", indexes = {
+        @Index(name = "idx_equipment_booking_status_date", columnList = "status, booking_date")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -0,0 +1,48 @@
+package com.school.equipment.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Released and past-dated booking rows moved out of equipment_booking by the compaction job.
+ * Keeps plain ids instead of foreign keys so archiving never touches the live tables' locks.
+ */
+@Entity
+@Table(name = "equipment_booking_history", indexes = {
+        @Index(name = "idx_booking_history_equipment_date", columnList = "equipment_id, booking_date")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EquipmentBookingHistory {
+    @Id
+    @Column(name = "booking_id")
+    private Long bookingId;
+
+    @Column(name = "request_id", nullable = false)
+    private Long requestId;
+
+    @Column(name = "equipment_id", nullable = false)
+    private Long equipmentId;
+
+    @Column(name = "booking_date", nullable = false)
+    private LocalDate bookingDate;
+
+    @Column(name = "quantity", nullable = false)
+    private Integer quantity;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", length = 50)
+    private EquipmentBooking.Status status;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+}
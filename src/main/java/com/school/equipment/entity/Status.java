@@ -1,5 +1,5 @@
 package com.school.equipment.entity;
 
 public enum Status {
-        PENDING, APPROVED, REJECTED, RETURNED
+        PENDING, APPROVED, REJECTED, RETURNED, OVERDUE
     }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.school.equipment.entity;
 
+import com.school.equipment.user.UserProfileInvalidator;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -11,6 +12,7 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "users")
+@EntityListeners(UserProfileInvalidator.class)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
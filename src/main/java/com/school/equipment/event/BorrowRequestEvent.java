@@ -0,0 +1,28 @@
+package com.school.equipment.event;
+
+import com.school.equipment.dto.borrow.BorrowRequestResponse;
+import com.school.equipment.entity.Status;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published by BorrowRequestService inside the transaction that changed the request.
+ * Listeners that must be atomic with the change use {@code @EventListener}; everything
+ * else should use {@code @TransactionalEventListener} so it only sees committed state.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BorrowRequestEvent {
+
+        private BorrowRequestEventType type;
+        private Status previousStatus;
+        private BorrowRequestResponse request;
+        // Set when the request is a line of a cart, which is approved or rejected as a whole
+        private Long cartId;
+        private String requesterEmail;
+        private LocalDateTime occurredAt;
+}
@@ -0,0 +1,5 @@
+package com.school.equipment.event;
+
+public enum BorrowRequestEventType {
+        CREATED, APPROVED, REJECTED, RETURNED, READY_FOR_APPROVAL, OVERDUE
+    }
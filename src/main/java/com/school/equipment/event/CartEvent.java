@@ -0,0 +1,23 @@
+package com.school.equipment.event;
+
+import com.school.equipment.dto.borrow.CartResponse;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published by BorrowRequestService after a whole cart was approved or rejected, next to the
+ * per-line {@link BorrowRequestEvent}s, so the student can be notified once per cart.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CartEvent {
+
+        private BorrowRequestEventType type;
+        private CartResponse cart;
+        private String requesterEmail;
+        private LocalDateTime occurredAt;
+}
@@ -0,0 +1,23 @@
+package com.school.equipment.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Published by EquipmentService inside the transaction that changed the item. The previous
+ * values are null for CREATED; the current ones repeat the previous values for DELETED.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EquipmentEvent {
+
+        private EquipmentEventType type;
+        private Long equipmentId;
+        private String name;
+        private String previousCategory;
+        private Integer previousTotalQuantity;
+        private String category;
+        private Integer totalQuantity;
+}
@@ -0,0 +1,5 @@
+package com.school.equipment.event;
+
+public enum EquipmentEventType {
+        CREATED, UPDATED, DELETED
+    }
@@ -0,0 +1,94 @@
+package com.school.equipment.fields;
+
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import org.springframework.http.converter.json.MappingJacksonValue;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * The response fields a client asked for with {@code ?fields=a,b,c}. Names are checked
+ * against the response type, so a typo is a 400 rather than a silently empty column. An
+ * absent or empty parameter selects every field.
+ *
+ * <p>Response types opt in with {@code @JsonFilter(FieldSelection.FILTER)};
+ * {@link #apply(Object)} wraps a body so that only the selected properties are written.
+ */
+public final class FieldSelection {
+
+    public static final String FILTER = "fields";
+
+    private static final FieldSelection ALL = new FieldSelection(null);
+
+    private static final Map<Class<?>, Set<String>> FIELDS_BY_TYPE = new ConcurrentHashMap<>();
+
+    private final Set<String> names;
+
+    private FieldSelection(Set<String> names) {
+        this.names = names;
+    }
+
+    public static FieldSelection all() {
+        return ALL;
+    }
+
+    public static FieldSelection parse(String fields, Class<?> responseType) {
+        if (fields == null || fields.isBlank()) {
+            return ALL;
+        }
+        Set<String> known = FIELDS_BY_TYPE.computeIfAbsent(responseType, FieldSelection::declaredFields);
+        Set<String> names = new LinkedHashSet<>();
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (!known.contains(name)) {
+                throw new RuntimeException("Unknown field: " + name);
+            }
+            names.add(name);
+        }
+        return names.isEmpty() ? ALL : new FieldSelection(Collections.unmodifiableSet(names));
+    }
+
+    public boolean isAll() {
+        return names == null;
+    }
+
+    public Set<String> names() {
+        return names;
+    }
+
+    // Adds a field the caller needs internally; the response is still filtered by the original selection
+    public FieldSelection with(String name) {
+        if (isAll() || names.contains(name)) {
+            return this;
+        }
+        Set<String> widened = new LinkedHashSet<>(names);
+        widened.add(name);
+        return new FieldSelection(Collections.unmodifiableSet(widened));
+    }
+
+    public MappingJacksonValue apply(Object body) {
+        MappingJacksonValue value = new MappingJacksonValue(body);
+        value.setFilters(new SimpleFilterProvider().addFilter(FILTER, isAll()
+                ? SimpleBeanPropertyFilter.serializeAll()
+                : SimpleBeanPropertyFilter.filterOutAllExcept(names)));
+        return value;
+    }
+
+    private static Set<String> declaredFields(Class<?> type) {
+        return Arrays.stream(type.getDeclaredFields())
+                .filter(field -> !Modifier.isStatic(field.getModifiers()))
+                .map(Field::getName)
+                .collect(Collectors.toUnmodifiableSet());
+    }
+}
@@ -0,0 +1,87 @@
+package com.school.equipment.fields;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Maps the fields of a response type to paths on an entity, so that a {@link FieldSelection}
+ * turns into a query that selects only those columns. An association is joined only when one
+ * of its fields is selected; the response is filled through its setters and the unselected
+ * properties stay null.
+ */
+public final class SparseProjection<E, R> {
+
+    private final Class<E> entityType;
+
+    private final Supplier<R> responseFactory;
+
+    private final Map<String, Column<E, R>> columns = new LinkedHashMap<>();
+
+    public SparseProjection(Class<E> entityType, Supplier<R> responseFactory) {
+        this.entityType = entityType;
+        this.responseFactory = responseFactory;
+    }
+
+    public <V> SparseProjection<E, R> field(String name, String attribute, BiConsumer<R, V> setter) {
+        return field(name, root -> root.get(attribute), setter);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <V> SparseProjection<E, R> field(String name, Function<Root<E>, Path<V>> path, BiConsumer<R, V> setter) {
+        columns.put(name, new Column<>(path::apply, (response, value) -> setter.accept(response, (V) value)));
+        return this;
+    }
+
+    public List<R> list(EntityManager entityManager, FieldSelection fields, Specification<E> where, String orderBy) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<E> root = query.from(entityType);
+
+        List<Column<E, R>> selected = new ArrayList<>();
+        List<Selection<?>> selections = new ArrayList<>();
+        for (String name : fields.names()) {
+            Column<E, R> column = columns.get(name);
+            if (column == null) {
+                throw new IllegalStateException("No column mapped for field " + name + " of " + entityType.getSimpleName());
+            }
+            selected.add(column);
+            selections.add(column.path().apply(root));
+        }
+        query.multiselect(selections);
+
+        Predicate predicate = where != null ? where.toPredicate(root, query, cb) : null;
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(cb.asc(root.get(orderBy)));
+
+        List<Tuple> rows = entityManager.createQuery(query).getResultList();
+        List<R> responses = new ArrayList<>(rows.size());
+        for (Tuple row : rows) {
+            R response = responseFactory.get();
+            for (int i = 0; i < selected.size(); i++) {
+                selected.get(i).setter().accept(response, row.get(i));
+            }
+            responses.add(response);
+        }
+        return responses;
+    }
+
+    private record Column<E, R>(Function<Root<E>, Path<?>> path, BiConsumer<R, Object> setter) {
+    }
+}
@@ -0,0 +1,215 @@
+package com.school.equipment.idempotency;
+
+import com.school.equipment.config.BinaryEncodingConfig;
+import com.school.equipment.entity.IdempotencyRecord;
+import com.school.equipment.security.AuthenticationHelper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Honours the {@code Idempotency-Key} header on the configured write endpoints. Keys are
+ * scoped to the authenticated user. The first request with a key runs normally and its 2xx
+ * response is stored; a retry with the same key and body gets the stored response back
+ * without touching the service. Reusing a key with a different body is a 422, and a retry
+ * that arrives while the original is still running is a 409.
+ */
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "Idempotency-Key";
+
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+
+    private static final int MAX_KEY_LENGTH = 100;
+
+    private final IdempotencyStore store;
+
+    private final List<String> endpoints;
+
+    public IdempotencyFilter(IdempotencyStore store, List<String> endpoints) {
+        this.store = store;
+        this.endpoints = endpoints;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (request.getHeader(HEADER) == null) {
+            return true;
+        }
+        String endpoint = request.getMethod() + " " + request.getServletPath();
+        return endpoints.stream().noneMatch(pattern -> PATH_MATCHER.match(pattern, endpoint));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        Long userId = AuthenticationHelper.getUserIdFromAuthentication(
+                SecurityContextHolder.getContext().getAuthentication());
+        String key = request.getHeader(HEADER);
+        if (userId == null || key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        byte[] body = StreamUtils.copyToByteArray(request.getInputStream());
+        String scopedKey = userId + ":" + key;
+        String requestHash = hash(request.getMethod(), request.getServletPath(), body);
+
+        Optional<IdempotencyRecord> existing = store.find(scopedKey);
+        if (existing.isPresent()) {
+            replayOrReject(existing.get(), requestHash, response);
+            return;
+        }
+        if (!store.claim(scopedKey, requestHash)) {
+            // Lost the race to another request with the same key
+            store.find(scopedKey).ifPresentOrElse(
+                    record -> replayOrReject(record, requestHash, response),
+                    () -> error(response, HttpStatus.CONFLICT, "A request with this Idempotency-Key is in progress"));
+            return;
+        }
+
+        ContentCachingResponseWrapper cachingResponse = new ContentCachingResponseWrapper(response);
+        boolean stored = false;
+        try {
+            filterChain.doFilter(new CachedBodyRequest(request, body), cachingResponse);
+            int status = cachingResponse.getStatus();
+            if (status >= 200 && status < 300) {
+                String contentType = cachingResponse.getContentType();
+                store.complete(scopedKey, status, contentType,
+                        encodeBody(contentType, cachingResponse.getContentAsByteArray()));
+                stored = true;
+            }
+        } finally {
+            if (!stored) {
+                store.release(scopedKey);
+            }
+            cachingResponse.copyBodyToResponse();
+        }
+    }
+
+    private static void replayOrReject(IdempotencyRecord record, String requestHash, HttpServletResponse response) {
+        if (!record.getRequestHash().equals(requestHash)) {
+            error(response, HttpStatus.UNPROCESSABLE_ENTITY, "Idempotency-Key was already used for a different request");
+        } else if (record.getStatusCode() == null) {
+            error(response, HttpStatus.CONFLICT, "A request with this Idempotency-Key is in progress");
+        } else {
+            try {
+                response.setStatus(record.getStatusCode());
+                response.setHeader(REPLAYED_HEADER, "true");
+                if (record.getContentType() != null) {
+                    response.setContentType(record.getContentType());
+                }
+                if (record.getResponseBody() != null) {
+                    response.getOutputStream().write(decodeBody(record.getContentType(), record.getResponseBody()));
+                }
+            } catch (IOException e) {
+                throw new RuntimeException("Could not write replayed response", e);
+            }
+        }
+    }
+
+    // response_body is a TEXT column, so CBOR and Smile bodies are stored Base64-encoded
+    private static String encodeBody(String contentType, byte[] body) {
+        return BinaryEncodingConfig.isBinary(contentType)
+                ? Base64.getEncoder().encodeToString(body)
+                : new String(body, StandardCharsets.UTF_8);
+    }
+
+    private static byte[] decodeBody(String contentType, String body) {
+        return BinaryEncodingConfig.isBinary(contentType)
+                ? Base64.getDecoder().decode(body)
+                : body.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void error(HttpServletResponse response, HttpStatus status, String message) {
+        try {
+            response.setStatus(status.value());
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getWriter().write("{\"error\":\"" + message + "\"}");
+        } catch (IOException e) {
+            throw new RuntimeException("Could not write idempotency error", e);
+        }
+    }
+
+    private static String hash(String method, String path, byte[] body) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update((method + " " + path + "\n").getBytes(StandardCharsets.UTF_8));
+            digest.update(body);
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        private CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return input.read(buffer, offset, length);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            return new BufferedReader(new InputStreamReader(getInputStream(), StandardCharsets.UTF_8));
+        }
+    }
+}
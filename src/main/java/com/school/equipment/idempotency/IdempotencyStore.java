@@ -0,0 +1,129 @@
+package com.school.equipment.idempotency;
+
+import com.school.equipment.entity.IdempotencyRecord;
+import com.school.equipment.repository.IdempotencyRecordRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.PersistenceException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Completed idempotent responses, held in a bounded LRU in front of the idempotency_key
+ * table. The table is the source of truth, shared between instances and kept for
+ * {@code app.idempotency.ttl}; the LRU turns most replays into a map lookup.
+ */
+@Slf4j
+@Component
+public class IdempotencyStore {
+
+    private final IdempotencyRecordRepository repository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Duration ttl;
+
+    private final Duration inFlightTimeout;
+
+    private final Map<String, IdempotencyRecord> recent;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public IdempotencyStore(IdempotencyRecordRepository repository, PlatformTransactionManager transactionManager,
+                            @Value("${app.idempotency.ttl:24h}") Duration ttl,
+                            @Value("${app.idempotency.in-flight-timeout:60s}") Duration inFlightTimeout,
+                            @Value("${app.idempotency.cache-size:10000}") int cacheSize) {
+        this.repository = repository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.ttl = ttl;
+        this.inFlightTimeout = inFlightTimeout;
+        this.recent = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, IdempotencyRecord> eldest) {
+                return size() > cacheSize;
+            }
+        });
+    }
+
+    /**
+     * Returns the stored record for the key, completed or still in flight, unless it has expired.
+     */
+    public Optional<IdempotencyRecord> find(String scopedKey) {
+        LocalDateTime now = LocalDateTime.now();
+        IdempotencyRecord cached = recent.get(scopedKey);
+        if (cached != null && cached.getExpiresAt().isAfter(now)) {
+            return Optional.of(cached);
+        }
+        return repository.findById(scopedKey).filter(record -> record.getExpiresAt().isAfter(now));
+    }
+
+    /**
+     * Records the key as in flight. Returns false if another request holds it already.
+     */
+    public boolean claim(String scopedKey, String requestHash) {
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                // An expired row, finished or abandoned mid-flight, no longer blocks the key
+                IdempotencyRecord existing = entityManager.find(IdempotencyRecord.class, scopedKey);
+                if (existing != null && !existing.getExpiresAt().isAfter(now)) {
+                    entityManager.remove(existing);
+                    entityManager.flush();
+                }
+
+                IdempotencyRecord record = new IdempotencyRecord();
+                record.setScopedKey(scopedKey);
+                record.setRequestHash(requestHash);
+                record.setExpiresAt(now.plus(inFlightTimeout));
+                entityManager.persist(record);
+                entityManager.flush();
+            });
+            return true;
+        } catch (DataIntegrityViolationException | PersistenceException e) {
+            return false;
+        }
+    }
+
+    public void complete(String scopedKey, int statusCode, String contentType, String responseBody) {
+        IdempotencyRecord record = transactionTemplate.execute(status -> {
+            IdempotencyRecord claimed = entityManager.find(IdempotencyRecord.class, scopedKey);
+            if (claimed == null) {
+                return null;
+            }
+            claimed.setStatusCode(statusCode);
+            claimed.setContentType(contentType);
+            claimed.setResponseBody(responseBody);
+            claimed.setExpiresAt(LocalDateTime.now().plus(ttl));
+            return claimed;
+        });
+        if (record != null) {
+            recent.put(scopedKey, record);
+        }
+    }
+
+    // Failed attempts are not stored, so the client can retry with the same key
+    public void release(String scopedKey) {
+        repository.deleteById(scopedKey);
+    }
+
+    @Scheduled(fixedDelayString = "${app.idempotency.purge-interval:600000}")
+    public void purgeExpired() {
+        int deleted = repository.deleteExpired(LocalDateTime.now());
+        if (deleted > 0) {
+            log.debug("Purged {} expired idempotency keys", deleted);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.school.equipment.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.school.equipment.Approval")
+@Label("Borrow Request Approval")
+@Description("One call to BorrowRequestService.approveRequest")
+@Category({"School Equipment", "Borrow Requests"})
+@StackTrace(false)
+public class ApprovalEvent extends jdk.jfr.Event {
+
+    @Label("Request ID")
+    public long requestId;
+
+    @Label("Equipment ID")
+    public long equipmentId;
+
+    @Label("Window Length")
+    @Description("Days between from date and to date, inclusive")
+    public int windowDays;
+
+    @Label("Days Scanned")
+    public int daysScanned;
+
+    @Label("Booking Rows Written")
+    public int rowsWritten;
+
+    @Label("Outcome")
+    public String outcome;
+}
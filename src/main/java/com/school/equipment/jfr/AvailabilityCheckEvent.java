@@ -0,0 +1,30 @@
+package com.school.equipment.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.school.equipment.AvailabilityCheck")
+@Label("Equipment Availability Check")
+@Category({"School Equipment", "Borrow Requests"})
+@StackTrace(false)
+public class AvailabilityCheckEvent extends jdk.jfr.Event {
+
+    @Label("Equipment ID")
+    public long equipmentId;
+
+    @Label("Item Count")
+    public int itemCount;
+
+    @Label("Window Length")
+    public int windowDays;
+
+    @Label("Query Count")
+    @Description("SQL statements prepared on the JDBC connections during the check")
+    public int queryCount;
+
+    @Label("Available")
+    public boolean available;
+}
@@ -0,0 +1,19 @@
+package com.school.equipment.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.school.equipment.JwtVerification")
+@Label("JWT Parse and Verify")
+@Category({"School Equipment", "Security"})
+@StackTrace(false)
+public class JwtVerificationEvent extends jdk.jfr.Event {
+
+    @Label("Valid")
+    public boolean valid;
+
+    @Label("Failure")
+    public String failure;
+}
@@ -0,0 +1,16 @@
+package com.school.equipment.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.school.equipment.PasswordMatch")
+@Label("BCrypt Password Match")
+@Category({"School Equipment", "Security"})
+@StackTrace(false)
+public class PasswordMatchEvent extends jdk.jfr.Event {
+
+    @Label("Matched")
+    public boolean matched;
+}
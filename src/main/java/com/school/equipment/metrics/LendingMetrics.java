@@ -0,0 +1,90 @@
+package com.school.equipment.metrics;
+
+import com.school.equipment.stats.LendingStats;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+/**
+ * Domain counters and gauges. Connection pool gauges (hikaricp_connections_*) are
+ * registered by Spring Boot's DataSource metrics auto-configuration.
+ */
+@Component
+public class LendingMetrics {
+
+    private final Counter availabilityDaysScanned;
+
+    private final Counter bookingRowsWritten;
+
+    private final Counter jwtVerificationsValid;
+
+    private final Counter jwtVerificationsInvalid;
+
+    private final Counter jwtVerificationsRevoked;
+
+    private final Counter revocationFalsePositives;
+
+    private final Counter loginFailures;
+
+    private final Counter overdueMarked;
+
+    public LendingMetrics(MeterRegistry registry, LendingStats lendingStats) {
+        this.availabilityDaysScanned = Counter.builder("lending.availability.days.scanned")
+                .description("Days checked by availability checks")
+                .register(registry);
+        this.bookingRowsWritten = Counter.builder("lending.booking.rows.written")
+                .description("Equipment booking rows inserted on approval")
+                .register(registry);
+        this.jwtVerificationsValid = Counter.builder("lending.jwt.verifications")
+                .tag("result", "valid")
+                .register(registry);
+        this.jwtVerificationsInvalid = Counter.builder("lending.jwt.verifications")
+                .tag("result", "invalid")
+                .register(registry);
+        this.jwtVerificationsRevoked = Counter.builder("lending.jwt.verifications")
+                .tag("result", "revoked")
+                .register(registry);
+        this.revocationFalsePositives = Counter.builder("lending.jwt.revocation.false.positives")
+                .description("Tokens the revocation Bloom filter flagged but the exact set cleared")
+                .register(registry);
+        this.loginFailures = Counter.builder("lending.login.failures")
+                .description("Rejected login attempts")
+                .register(registry);
+        this.overdueMarked = Counter.builder("lending.requests.overdue.marked")
+                .description("Approved requests moved to OVERDUE by the overdue job")
+                .register(registry);
+
+        Gauge.builder("lending.requests.pending", lendingStats, LendingStats::pendingCount)
+                .description("Borrow requests waiting for approval")
+                .register(registry);
+    }
+
+    public void recordAvailabilityDaysScanned(int days) {
+        availabilityDaysScanned.increment(days);
+    }
+
+    public void recordBookingRowsWritten(int rows) {
+        bookingRowsWritten.increment(rows);
+    }
+
+    public void recordJwtVerification(boolean valid) {
+        (valid ? jwtVerificationsValid : jwtVerificationsInvalid).increment();
+    }
+
+    public void recordJwtRevoked() {
+        jwtVerificationsRevoked.increment();
+    }
+
+    public void recordRevocationFalsePositive() {
+        revocationFalsePositives.increment();
+    }
+
+    public void recordLoginFailure() {
+        loginFailures.increment();
+    }
+
+    public void recordOverdueMarked(int count) {
+        overdueMarked.increment(count);
+    }
+}
@@ -0,0 +1,67 @@
+package com.school.equipment.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Counts the SQL statements each HTTP request issues and warns when a request goes over
+ * {@code app.sql.statement-budget}. The count is left on the request under
+ * {@link #STATEMENT_COUNT_ATTRIBUTE}, where {@code SqlStatementCountTest} asserts
+ * per-endpoint query counts to catch N+1 regressions.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class SqlStatementBudgetFilter extends OncePerRequestFilter {
+
+    public static final String STATEMENT_COUNT_ATTRIBUTE = SqlStatementBudgetFilter.class.getName() + ".count";
+
+    private final MeterRegistry meterRegistry;
+
+    private final int statementBudget;
+
+    public SqlStatementBudgetFilter(MeterRegistry meterRegistry,
+                                    @Value("${app.sql.statement-budget:20}") int statementBudget) {
+        this.meterRegistry = meterRegistry;
+        this.statementBudget = statementBudget;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        SqlStatementCounter.begin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            int statements = SqlStatementCounter.end();
+            request.setAttribute(STATEMENT_COUNT_ATTRIBUTE, statements);
+
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+            DistributionSummary.builder("lending.http.sql.statements")
+                    .description("SQL statements issued per HTTP request")
+                    .tag("method", request.getMethod())
+                    .tag("uri", uri)
+                    .register(meterRegistry)
+                    .record(statements);
+
+            if (statements > statementBudget) {
+                log.warn("{} {} issued {} SQL statements, over the budget of {}",
+                        request.getMethod(), uri, statements, statementBudget);
+            }
+        }
+    }
+}
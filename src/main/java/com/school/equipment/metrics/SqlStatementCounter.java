@@ -0,0 +1,46 @@
+package com.school.equipment.metrics;
+
+/**
+ * Counts the SQL statements prepared on the current thread. {@link #begin()} and {@link #end()}
+ * delimit a scope such as one HTTP request; {@link #total()} is a running count that callers
+ * difference around a block of work. Fed by {@link StatementCountingDataSource}, so Hibernate
+ * and JdbcTemplate statements are counted alike.
+ */
+public final class SqlStatementCounter {
+
+    private static final ThreadLocal<int[]> TOTAL = ThreadLocal.withInitial(() -> new int[1]);
+
+    private static final ThreadLocal<Integer> SCOPE_START = new ThreadLocal<>();
+
+    private SqlStatementCounter() {
+    }
+
+    public static void begin() {
+        SCOPE_START.set(total());
+    }
+
+    static void increment() {
+        TOTAL.get()[0]++;
+    }
+
+    /**
+     * Statements prepared on this thread so far, whether or not a scope is open.
+     */
+    public static int total() {
+        return TOTAL.get()[0];
+    }
+
+    /**
+     * Number of statements counted since {@link #begin()}, or 0 when no scope is open.
+     */
+    public static int current() {
+        Integer start = SCOPE_START.get();
+        return start != null ? total() - start : 0;
+    }
+
+    public static int end() {
+        int statements = current();
+        SCOPE_START.remove();
+        return statements;
+    }
+}
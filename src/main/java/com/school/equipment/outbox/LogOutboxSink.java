@@ -0,0 +1,27 @@
+package com.school.equipment.outbox;
+
+import com.school.equipment.entity.OutboxEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.outbox.sinks.log.enabled", havingValue = "true", matchIfMissing = true)
+public class LogOutboxSink implements OutboxSink {
+
+    @Override
+    public String name() {
+        return "log";
+    }
+
+    @Override
+    public void deliver(List<OutboxEvent> events) {
+        for (OutboxEvent event : events) {
+            log.info("{} {} {}: {}", event.getAggregateType(), event.getAggregateId(),
+                    event.getEventType(), event.getPayload());
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.school.equipment.outbox;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.school.equipment.entity.OutboxEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Emails the student when their request is approved, rejected, returned or overdue. A cart is
+ * approved or rejected as a whole, so its lines send no mail of their own for those transitions;
+ * the cart event sends one message listing every line. Locally this points at an SMTP stand-in
+ * such as Mailpit (see docker-compose.yaml).
+ */
+@Component
+@ConditionalOnProperty(name = "app.outbox.sinks.mail.enabled", havingValue = "true")
+public class MailOutboxSink implements OutboxSink {
+
+    private static final Set<String> NOTIFIED_TYPES = Set.of("APPROVED", "REJECTED", "RETURNED", "OVERDUE");
+
+    private static final Set<String> CART_TYPES = Set.of("APPROVED", "REJECTED");
+
+    private final JavaMailSender mailSender;
+
+    private final ObjectMapper objectMapper;
+
+    private final String from;
+
+    public MailOutboxSink(JavaMailSender mailSender, ObjectMapper objectMapper,
+                          @Value("${app.outbox.sinks.mail.from}") String from) {
+        this.mailSender = mailSender;
+        this.objectMapper = objectMapper;
+        this.from = from;
+    }
+
+    @Override
+    public String name() {
+        return "mail";
+    }
+
+    @Override
+    public void deliver(List<OutboxEvent> events) throws Exception {
+        List<SimpleMailMessage> messages = new ArrayList<>();
+        for (OutboxEvent event : events) {
+            if (!NOTIFIED_TYPES.contains(event.getEventType())) {
+                continue;
+            }
+            JsonNode payload = objectMapper.readTree(event.getPayload());
+            String recipient = payload.path("requesterEmail").asText(null);
+            if (recipient == null) {
+                continue;
+            }
+
+            SimpleMailMessage message;
+            if (OutboxWriter.BORROW_CART.equals(event.getAggregateType())) {
+                message = cartMessage(event.getEventType(), payload.path("cart"));
+            } else if (payload.hasNonNull("cartId") && CART_TYPES.contains(event.getEventType())) {
+                continue;
+            } else {
+                message = requestMessage(event.getEventType(), payload.path("request"));
+            }
+            message.setFrom(from);
+            message.setTo(recipient);
+            messages.add(message);
+        }
+        if (!messages.isEmpty()) {
+            mailSender.send(messages.toArray(new SimpleMailMessage[0]));
+        }
+    }
+
+    private static SimpleMailMessage requestMessage(String eventType, JsonNode request) {
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setSubject("Your request for " + request.path("equipmentName").asText()
+                + " is " + eventType.toLowerCase());
+        message.setText("Hi " + request.path("userName").asText() + ",\n\n"
+                + "Request #" + request.path("requestId").asLong() + " for "
+                + request.path("quantity").asInt() + " x " + request.path("equipmentName").asText()
+                + " (" + request.path("fromDate").asText() + " to " + request.path("toDate").asText() + ")"
+                + " is now " + request.path("status").asText() + ".\n"
+                + (request.hasNonNull("remarks") ? "Remarks: " + request.path("remarks").asText() + "\n" : ""));
+        return message;
+    }
+
+    private static SimpleMailMessage cartMessage(String eventType, JsonNode cart) {
+        JsonNode lines = cart.path("lines");
+        StringBuilder text = new StringBuilder("Hi " + lines.path(0).path("userName").asText() + ",\n\n"
+                + "Your cart #" + cart.path("cartId").asLong()
+                + " (" + cart.path("fromDate").asText() + " to " + cart.path("toDate").asText() + ")"
+                + " is " + eventType.toLowerCase() + ":\n");
+        for (JsonNode line : lines) {
+            text.append("- Request #").append(line.path("requestId").asLong()).append(": ")
+                .append(line.path("quantity").asInt()).append(" x ").append(line.path("equipmentName").asText())
+                .append('\n');
+        }
+        JsonNode remarks = lines.path(0).path("remarks");
+        if (!remarks.isMissingNode() && !remarks.isNull()) {
+            text.append("Remarks: ").append(remarks.asText()).append('\n');
+        }
+
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setSubject("Your cart of " + lines.size() + " items is " + eventType.toLowerCase());
+        message.setText(text.toString());
+        return message;
+    }
+}
@@ -0,0 +1,203 @@
+package com.school.equipment.outbox;
+
+import com.school.equipment.entity.OutboxEvent;
+import com.school.equipment.repository.OutboxEventRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Polls the outbox and hands each batch to every enabled sink. A batch is claimed with
+ * SKIP LOCKED and leased for {@code app.outbox.claim-timeout} in a short transaction; the
+ * sinks are called after that commits, so no row lock or pooled connection is held during
+ * remote I/O, and the outcome is recorded in a second transaction.
+ *
+ * <p>Delivery is tracked per event and sink: a retry only goes to the sinks that have not
+ * taken the event yet. When a sink rejects a batch, its events are retried one by one so a
+ * single bad event does not hold back the others. Failed events are retried with exponential
+ * backoff and marked failed after {@code app.outbox.max-attempts}. If a dispatcher dies while
+ * delivering, the lease runs out and the batch is picked up again, so delivery is at-least-once.
+ */
+@Slf4j
+@Component
+public class OutboxDispatcher {
+
+    private static final Duration MAX_BACKOFF = Duration.ofMinutes(10);
+
+    // Consecutive single-event failures after which a sink is taken to be down for this round
+    private static final int MAX_CONSECUTIVE_FAILURES = 3;
+
+    private final OutboxEventRepository outboxEventRepository;
+
+    private final List<OutboxSink> sinks;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final int batchSize;
+
+    private final int maxAttempts;
+
+    private final Duration claimTimeout;
+
+    private final Duration retention;
+
+    public OutboxDispatcher(OutboxEventRepository outboxEventRepository, List<OutboxSink> sinks,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${app.outbox.batch-size:100}") int batchSize,
+                            @Value("${app.outbox.max-attempts:10}") int maxAttempts,
+                            @Value("${app.outbox.claim-timeout:60s}") Duration claimTimeout,
+                            @Value("${app.outbox.retention:7d}") Duration retention) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.sinks = sinks;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.claimTimeout = claimTimeout;
+        this.retention = retention;
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.poll-interval:2000}")
+    public void dispatch() {
+        // Keep draining while full batches come back
+        List<OutboxEvent> batch;
+        do {
+            batch = transactionTemplate.execute(status -> claimBatch());
+            if (!batch.isEmpty()) {
+                List<Delivery> deliveries = deliver(batch);
+                transactionTemplate.executeWithoutResult(status -> record(deliveries));
+            }
+        } while (batch.size() == batchSize);
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.purge-interval:3600000}")
+    public void purge() {
+        int deleted = transactionTemplate.execute(status ->
+                outboxEventRepository.deleteDispatchedBefore(LocalDateTime.now().minus(retention)));
+        if (deleted > 0) {
+            log.info("Purged {} dispatched outbox events older than {}", deleted, retention);
+        }
+    }
+
+    private List<OutboxEvent> claimBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxEvent> batch = outboxEventRepository.findDispatchable(now, PageRequest.of(0, batchSize));
+        // Other dispatchers skip the batch until the lease runs out
+        batch.forEach(event -> event.setNextAttemptAt(now.plus(claimTimeout)));
+        return batch;
+    }
+
+    private List<Delivery> deliver(List<OutboxEvent> batch) {
+        List<Delivery> deliveries = batch.stream().map(Delivery::new).collect(Collectors.toList());
+        for (OutboxSink sink : sinks) {
+            List<Delivery> pending = deliveries.stream()
+                    .filter(delivery -> !delivery.deliveredSinks.contains(sink.name()))
+                    .collect(Collectors.toList());
+            if (pending.isEmpty()) {
+                continue;
+            }
+            try {
+                sink.deliver(pending.stream().map(delivery -> delivery.event).collect(Collectors.toList()));
+                pending.forEach(delivery -> delivery.deliveredSinks.add(sink.name()));
+            } catch (Exception e) {
+                log.warn("Outbox sink {} failed for {} events: {}", sink.name(), pending.size(), e.toString());
+                if (pending.size() == 1) {
+                    pending.get(0).fail(sink, e);
+                } else {
+                    deliverOneByOne(sink, pending);
+                }
+            }
+        }
+        return deliveries;
+    }
+
+    private void deliverOneByOne(OutboxSink sink, List<Delivery> pending) {
+        int consecutiveFailures = 0;
+        for (Delivery delivery : pending) {
+            if (consecutiveFailures >= MAX_CONSECUTIVE_FAILURES) {
+                delivery.fail(sink, "sink unavailable");
+                continue;
+            }
+            try {
+                sink.deliver(List.of(delivery.event));
+                delivery.deliveredSinks.add(sink.name());
+                consecutiveFailures = 0;
+            } catch (Exception e) {
+                delivery.fail(sink, e);
+                consecutiveFailures++;
+            }
+        }
+    }
+
+    private void record(List<Delivery> deliveries) {
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, OutboxEvent> events = outboxEventRepository.findAllById(
+                        deliveries.stream().map(delivery -> delivery.event.getEventId()).collect(Collectors.toList()))
+                .stream().collect(Collectors.toMap(OutboxEvent::getEventId, Function.identity()));
+
+        for (Delivery delivery : deliveries) {
+            OutboxEvent event = events.get(delivery.event.getEventId());
+            if (event == null) {
+                continue;
+            }
+            event.setDeliveredSinks(delivery.deliveredSinks.isEmpty() ? null : String.join(",", delivery.deliveredSinks));
+            if (delivery.error == null) {
+                event.setDispatchedAt(now);
+            } else {
+                reschedule(event, now, delivery.error);
+            }
+        }
+    }
+
+    private void reschedule(OutboxEvent event, LocalDateTime now, String error) {
+        int attempts = event.getAttempts() + 1;
+        event.setAttempts(attempts);
+        event.setLastError(error.length() > 500 ? error.substring(0, 500) : error);
+        if (attempts >= maxAttempts) {
+            event.setFailedAt(now);
+            log.error("Outbox event {} failed {} times and is no longer dispatched: {}",
+                    event.getEventId(), attempts, event.getLastError());
+            return;
+        }
+        Duration backoff = Duration.ofSeconds(1L << Math.min(attempts, 20));
+        event.setNextAttemptAt(now.plus(backoff.compareTo(MAX_BACKOFF) < 0 ? backoff : MAX_BACKOFF));
+    }
+
+    private static final class Delivery {
+
+        private final OutboxEvent event;
+
+        private final Set<String> deliveredSinks = new LinkedHashSet<>();
+
+        private String error;
+
+        private Delivery(OutboxEvent event) {
+            this.event = event;
+            if (event.getDeliveredSinks() != null) {
+                deliveredSinks.addAll(Arrays.asList(event.getDeliveredSinks().split(",")));
+            }
+        }
+
+        private void fail(OutboxSink sink, Exception e) {
+            fail(sink, e.toString());
+        }
+
+        private void fail(OutboxSink sink, String message) {
+            String failure = sink.name() + ": " + message;
+            error = error == null ? failure : error + "; " + failure;
+        }
+    }
+}
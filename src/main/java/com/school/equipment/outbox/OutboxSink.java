@@ -0,0 +1,17 @@
+package com.school.equipment.outbox;
+
+import com.school.equipment.entity.OutboxEvent;
+
+import java.util.List;
+
+/**
+ * Destination for dispatched outbox events. Delivery is at-least-once: a sink that throws gets
+ * the batch again one event at a time, and a dispatcher that dies mid-batch leaves it to be
+ * claimed again, so sinks must tolerate seeing an event more than once.
+ */
+public interface OutboxSink {
+
+    String name();
+
+    void deliver(List<OutboxEvent> events) throws Exception;
+}
@@ -0,0 +1,63 @@
+package com.school.equipment.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.school.equipment.entity.OutboxEvent;
+import com.school.equipment.event.BorrowRequestEvent;
+import com.school.equipment.event.CartEvent;
+import com.school.equipment.repository.OutboxEventRepository;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Writes every borrow request and cart event to the outbox table. Runs synchronously inside the
+ * publishing transaction, so the outbox row commits or rolls back with the status change.
+ */
+@Component
+public class OutboxWriter {
+
+    static final String BORROW_REQUEST = "BorrowRequest";
+
+    static final String BORROW_CART = "BorrowCart";
+
+    private final OutboxEventRepository outboxEventRepository;
+
+    private final ObjectMapper objectMapper;
+
+    public OutboxWriter(OutboxEventRepository outboxEventRepository, ObjectMapper objectMapper) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    @EventListener
+    public void onBorrowRequestEvent(BorrowRequestEvent event) {
+        OutboxEvent outboxEvent = new OutboxEvent();
+        outboxEvent.setAggregateType(BORROW_REQUEST);
+        outboxEvent.setAggregateId(event.getRequest().getRequestId());
+        outboxEvent.setEventType(event.getType().name());
+        outboxEvent.setPayload(toJson(event));
+        outboxEvent.setNextAttemptAt(LocalDateTime.now());
+        outboxEventRepository.save(outboxEvent);
+    }
+
+    @EventListener
+    public void onCartEvent(CartEvent event) {
+        OutboxEvent outboxEvent = new OutboxEvent();
+        outboxEvent.setAggregateType(BORROW_CART);
+        outboxEvent.setAggregateId(event.getCart().getCartId());
+        outboxEvent.setEventType(event.getType().name());
+        outboxEvent.setPayload(toJson(event));
+        outboxEvent.setNextAttemptAt(LocalDateTime.now());
+        outboxEventRepository.save(outboxEvent);
+    }
+
+    private String toJson(Object event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Could not serialize outbox event", e);
+        }
+    }
+}
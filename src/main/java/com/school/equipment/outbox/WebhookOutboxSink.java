@@ -0,0 +1,63 @@
+package com.school.equipment.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.school.equipment.entity.OutboxEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Posts each batch as one JSON array to an analytics webhook. Any non-2xx response fails
+ * the delivery so it is retried.
+ */
+@Component
+@ConditionalOnProperty(name = "app.outbox.sinks.webhook.enabled", havingValue = "true")
+public class WebhookOutboxSink implements OutboxSink {
+
+    private final RestTemplate restTemplate;
+
+    private final ObjectMapper objectMapper;
+
+    private final String url;
+
+    public WebhookOutboxSink(RestTemplateBuilder restTemplateBuilder, ObjectMapper objectMapper,
+                             @Value("${app.outbox.sinks.webhook.url}") String url) {
+        this.restTemplate = restTemplateBuilder
+                .setConnectTimeout(Duration.ofSeconds(2))
+                .setReadTimeout(Duration.ofSeconds(5))
+                .build();
+        this.objectMapper = objectMapper;
+        this.url = url;
+    }
+
+    @Override
+    public String name() {
+        return "webhook";
+    }
+
+    @Override
+    public void deliver(List<OutboxEvent> events) throws Exception {
+        ArrayNode body = objectMapper.createArrayNode();
+        for (OutboxEvent event : events) {
+            body.addObject()
+                    .put("eventId", event.getEventId())
+                    .put("aggregateType", event.getAggregateType())
+                    .put("aggregateId", event.getAggregateId())
+                    .put("eventType", event.getEventType())
+                    .set("payload", objectMapper.readTree(event.getPayload()));
+        }
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        restTemplate.postForEntity(url, new HttpEntity<>(objectMapper.writeValueAsString(body), headers), Void.class);
+    }
+}
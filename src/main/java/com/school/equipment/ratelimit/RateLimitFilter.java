@@ -0,0 +1,101 @@
+package com.school.equipment.ratelimit;
+
+import com.school.equipment.security.AuthenticationHelper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applies {@link RateLimitProperties} rules. Authenticated callers are keyed by the userId
+ * from their JWT, anonymous ones by client address, so it must run after the JWT filter.
+ * It is added to the security chain explicitly rather than registered as a bean, which
+ * would also install it as a plain servlet filter ahead of authentication.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+
+    private final RateLimiter rateLimiter;
+
+    private final RateLimitProperties properties;
+
+    private final MeterRegistry meterRegistry;
+
+    public RateLimitFilter(RateLimiter rateLimiter, RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.rateLimiter = rateLimiter;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        Long userId = AuthenticationHelper.getUserIdFromAuthentication(authentication);
+        String role = userId != null ? role(authentication) : null;
+
+        RateLimitProperties.Rule rule = properties.isEnabled() ? findRule(request, role) : null;
+        if (rule == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String key = rule.getName() + ":" + (userId != null ? "user:" + userId : "ip:" + request.getRemoteAddr());
+        long waitNanos = rateLimiter.tryAcquire(key, rule);
+        if (waitNanos == 0) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        Counter.builder("lending.rate_limit.rejected")
+                .tag("rule", rule.getName())
+                .register(meterRegistry)
+                .increment();
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader("Retry-After", Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"error\":\"Too many requests\",\"retryAfterSeconds\":" + retryAfterSeconds + "}");
+    }
+
+    private RateLimitProperties.Rule findRule(HttpServletRequest request, String role) {
+        RateLimitProperties.Rule fallback = null;
+        for (RateLimitProperties.Rule rule : properties.getRules()) {
+            if (!rule.getMethod().equalsIgnoreCase(request.getMethod())
+                    || !PATH_MATCHER.match(rule.getPath(), request.getServletPath())) {
+                continue;
+            }
+            if (rule.getRole() == null) {
+                if (fallback == null) {
+                    fallback = rule;
+                }
+            } else if (rule.getRole().equalsIgnoreCase(role)) {
+                return rule;
+            }
+        }
+        return fallback;
+    }
+
+    private static String role(Authentication authentication) {
+        for (GrantedAuthority authority : authentication.getAuthorities()) {
+            String name = authority.getAuthority();
+            if (name.startsWith("ROLE_")) {
+                return name.substring("ROLE_".length());
+            }
+        }
+        return null;
+    }
+}
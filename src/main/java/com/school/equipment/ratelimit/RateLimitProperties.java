@@ -0,0 +1,33 @@
+package com.school.equipment.ratelimit;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Token-bucket rules under {@code app.rate-limit.rules[n]}. A rule applies to requests with
+ * its method and path; a rule with a role only applies to that role and wins over the
+ * role-less rule for the same endpoint. Anonymous callers match only role-less rules.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.rate-limit")
+public class RateLimitProperties {
+
+        private boolean enabled = true;
+        private List<Rule> rules = new ArrayList<>();
+
+        @Data
+        public static class Rule {
+                private String name;
+                private String method;
+                private String path;
+                private String role;
+                private int capacity;
+                private Duration refillPeriod;
+        }
+}
@@ -0,0 +1,83 @@
+package com.school.equipment.ratelimit;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory token buckets, split into lock stripes by key hash so callers with different
+ * keys rarely contend. Buckets that have refilled to capacity are swept periodically; they
+ * are indistinguishable from fresh buckets, so memory stays proportional to the callers
+ * seen within one refill period without changing any limit.
+ */
+@Component
+public class RateLimiter {
+
+    private static final int STRIPES = 64;
+
+    private final Stripe[] stripes = new Stripe[STRIPES];
+
+    public RateLimiter(MeterRegistry registry) {
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe();
+        }
+        Gauge.builder("lending.rate_limit.buckets", this, RateLimiter::size)
+                .description("Token buckets currently held in memory")
+                .register(registry);
+    }
+
+    /**
+     * Takes one token for {@code key} under {@code rule}. Returns 0 if allowed, otherwise the
+     * nanoseconds until a token becomes available.
+     */
+    public long tryAcquire(String key, RateLimitProperties.Rule rule) {
+        Stripe stripe = stripes[Math.floorMod(key.hashCode(), STRIPES)];
+        long now = System.nanoTime();
+        stripe.lock.lock();
+        try {
+            return stripe.buckets
+                    .computeIfAbsent(key, k -> new TokenBucket(rule.getCapacity(), rule.getRefillPeriod().toNanos(), now))
+                    .tryConsume(now);
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.rate-limit.sweep-interval:60000}")
+    public void evictFullBuckets() {
+        for (Stripe stripe : stripes) {
+            long now = System.nanoTime();
+            stripe.lock.lock();
+            try {
+                stripe.buckets.values().removeIf(bucket -> bucket.isFull(now));
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                size += stripe.buckets.size();
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+        return size;
+    }
+
+    private static final class Stripe {
+
+        private final ReentrantLock lock = new ReentrantLock();
+
+        private final Map<String, TokenBucket> buckets = new HashMap<>();
+    }
+}
@@ -0,0 +1,47 @@
+package com.school.equipment.ratelimit;
+
+/**
+ * Refills continuously at {@code capacity} tokens per refill period. Not thread-safe; the
+ * limiter guards every bucket with the lock of its stripe.
+ */
+class TokenBucket {
+
+    private final int capacity;
+
+    private final double tokensPerNano;
+
+    private double tokens;
+
+    private long lastRefillNanos;
+
+    TokenBucket(int capacity, long refillPeriodNanos, long nowNanos) {
+        this.capacity = capacity;
+        this.tokensPerNano = (double) capacity / refillPeriodNanos;
+        this.tokens = capacity;
+        this.lastRefillNanos = nowNanos;
+    }
+
+    /**
+     * Takes one token. Returns 0 if one was available, otherwise the nanoseconds until the
+     * next token.
+     */
+    long tryConsume(long nowNanos) {
+        refill(nowNanos);
+        if (tokens >= 1) {
+            tokens -= 1;
+            return 0;
+        }
+        return (long) Math.ceil((1 - tokens) / tokensPerNano);
+    }
+
+    // A bucket that has refilled completely behaves exactly like a new one, so it can be dropped
+    boolean isFull(long nowNanos) {
+        refill(nowNanos);
+        return tokens >= capacity;
+    }
+
+    private void refill(long nowNanos) {
+        tokens = Math.min(capacity, tokens + (nowNanos - lastRefillNanos) * tokensPerNano);
+        lastRefillNanos = nowNanos;
+    }
+}
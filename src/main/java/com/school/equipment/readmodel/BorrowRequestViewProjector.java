@@ -0,0 +1,105 @@
+package com.school.equipment.readmodel;
+
+import com.school.equipment.dto.borrow.BorrowRequestResponse;
+import com.school.equipment.entity.BorrowRequestView;
+import com.school.equipment.event.BorrowRequestEvent;
+import com.school.equipment.event.EquipmentEvent;
+import com.school.equipment.event.EquipmentEventType;
+import com.school.equipment.repository.BorrowRequestViewRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Keeps borrow_request_view in step with borrow_request. Borrow request events carry the full
+ * response snapshot, so each one is a single upsert by primary key; an equipment rename is
+ * one bulk update on the equipment_id index. Both listeners run synchronously
+ * inside the publishing transaction, so the view commits or rolls back with the write.
+ *
+ * <p>Term archival deletes its rows from the view in the same chunk transaction. Anything else
+ * written behind the service's back, such as the load test dataset, is reconciled by
+ * {@link #backfill()}, which runs at startup.
+ */
+@Slf4j
+@Component
+public class BorrowRequestViewProjector {
+
+    private static final String INSERT_MISSING =
+            "INSERT INTO borrow_request_view (request_id, equipment_id, equipment_name, requested_by, " +
+            "requester_name, approver_name, quantity, from_date, to_date, return_date, reason, status, remarks, " +
+            "condition_after_use, created_at, updated_at) " +
+            "SELECT br.request_id, br.equipment_id, e.name, br.requested_by, u.full_name, a.full_name, " +
+            "br.quantity, br.from_date, br.to_date, br.return_date, br.reason, br.status, br.remarks, " +
+            "br.condition_after_use, br.created_at, br.updated_at " +
+            "FROM borrow_request br " +
+            "JOIN equipment e ON e.equipment_id = br.equipment_id " +
+            "JOIN users u ON u.user_id = br.requested_by " +
+            "LEFT JOIN users a ON a.user_id = br.approved_by " +
+            "WHERE NOT EXISTS (SELECT 1 FROM borrow_request_view v WHERE v.request_id = br.request_id)";
+
+    private static final String DELETE_ORPHANED =
+            "DELETE FROM borrow_request_view WHERE NOT EXISTS " +
+            "(SELECT 1 FROM borrow_request br WHERE br.request_id = borrow_request_view.request_id)";
+
+    private final BorrowRequestViewRepository viewRepository;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public BorrowRequestViewProjector(BorrowRequestViewRepository viewRepository, JdbcTemplate jdbcTemplate,
+                                      PlatformTransactionManager transactionManager) {
+        this.viewRepository = viewRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener
+    public void onBorrowRequestEvent(BorrowRequestEvent event) {
+        viewRepository.save(toView(event.getRequest()));
+    }
+
+    @EventListener
+    public void onEquipmentEvent(EquipmentEvent event) {
+        if (event.getType() == EquipmentEventType.UPDATED) {
+            viewRepository.renameEquipment(event.getEquipmentId(), event.getName());
+        } else if (event.getType() == EquipmentEventType.DELETED) {
+            // Deleting an item cascades to its requests, which publish no events
+            viewRepository.deleteByEquipmentId(event.getEquipmentId());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        int[] counts = transactionTemplate.execute(status ->
+                new int[]{jdbcTemplate.update(INSERT_MISSING), jdbcTemplate.update(DELETE_ORPHANED)});
+        if (counts[0] > 0 || counts[1] > 0) {
+            log.info("Backfilled borrow_request_view: {} rows added, {} rows removed", counts[0], counts[1]);
+        }
+    }
+
+    private static BorrowRequestView toView(BorrowRequestResponse request) {
+        return new BorrowRequestView(
+            request.getRequestId(),
+            request.getEquipmentId(),
+            request.getEquipmentName(),
+            request.getUserId(),
+            request.getUserName(),
+            request.getApprovedBy(),
+            request.getQuantity(),
+            request.getFromDate(),
+            request.getToDate(),
+            request.getReturnDate(),
+            request.getReason(),
+            request.getStatus(),
+            request.getRemarks(),
+            request.getConditionAfterUse(),
+            request.getCreatedAt(),
+            request.getUpdatedAt()
+        );
+    }
+}
@@ -0,0 +1,9 @@
+package com.school.equipment.repository;
+
+import com.school.equipment.entity.BorrowCart;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface BorrowCartRepository extends JpaRepository<BorrowCart, Long> {
+}
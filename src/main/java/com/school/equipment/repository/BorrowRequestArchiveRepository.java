@@ -0,0 +1,25 @@
+package com.school.equipment.repository;
+
+import com.school.equipment.entity.BorrowRequestArchive;
+import com.school.equipment.entity.Status;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface BorrowRequestArchiveRepository extends JpaRepository<BorrowRequestArchive, Long> {
+
+    @Query("SELECT a FROM BorrowRequestArchive a WHERE " +
+           "(:status IS NULL OR a.status = :status) AND " +
+           "(:userId IS NULL OR a.requestedBy = :userId) AND " +
+           "(:term IS NULL OR a.term = :term)")
+    List<BorrowRequestArchive> findArchivedWithFilters(@Param("status") Status status,
+                                                       @Param("userId") Long userId,
+                                                       @Param("term") String term);
+
+    @Query("SELECT a.status, COUNT(a) FROM BorrowRequestArchive a GROUP BY a.status")
+    List<Object[]> countGroupedByStatus();
+}
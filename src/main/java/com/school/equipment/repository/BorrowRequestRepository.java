@@ -3,18 +3,40 @@ package com.school.equipment.repository;
 import com.school.equipment.entity.BorrowRequest;
 import com.school.equipment.entity.Status;
 import com.school.equipment.entity.User;
+import com.school.equipment.waitlist.WaitQueueEntry;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface BorrowRequestRepository extends JpaRepository<BorrowRequest, Long> {
+    @EntityGraph(attributePaths = {"equipment", "requestedBy", "approvedBy"})
+    Optional<BorrowRequest> findWithDetailsByRequestId(Long requestId);
+
+    @EntityGraph(attributePaths = {"equipment", "requestedBy", "approvedBy"})
+    List<BorrowRequest> findWithDetailsByRequestIdIn(Collection<Long> requestIds);
+
+    @EntityGraph(attributePaths = {"equipment", "requestedBy", "approvedBy"})
+    List<BorrowRequest> findWithDetailsByCartCartIdOrderByRequestId(Long cartId);
+
+    @EntityGraph(attributePaths = {"equipment", "requestedBy", "approvedBy"})
     List<BorrowRequest> findByRequestedBy(User user);
-    List<BorrowRequest> findByStatus(Status status);
+
+    // Cart lines are only approved together with their cart, so they never enter the wait queue
+    @Query("SELECT new com.school.equipment.waitlist.WaitQueueEntry(br.requestId, br.equipment.equipmentId, " +
+           "br.quantity, br.fromDate, br.toDate) FROM BorrowRequest br WHERE br.status = 'PENDING' " +
+           "AND br.cart IS NULL ORDER BY br.requestId")
+    List<WaitQueueEntry> findPendingQueueEntries();
 
     @Query("SELECT br FROM BorrowRequest br WHERE br.equipment.equipmentId = :equipmentId " +
            "AND br.status = 'APPROVED' " +
@@ -25,9 +47,34 @@ public interface BorrowRequestRepository extends JpaRepository<BorrowRequest, Lo
                                               @Param("fromDate") LocalDate fromDate,
                                               @Param("toDate") LocalDate toDate);
 
-    @Query("SELECT br FROM BorrowRequest br WHERE " +
-           "(:status IS NULL OR br.status = :status) AND " +
-           "(:userId IS NULL OR br.requestedBy.userId = :userId)")
-    List<BorrowRequest> findRequestsWithFilters(@Param("status") Status status,
-                                              @Param("userId") Long userId);
+    // Keyset page over idx_borrow_request_status_to_date: (status, to_date) plus the implicit primary key
+    @Query("SELECT br FROM BorrowRequest br WHERE br.status = 'APPROVED' AND br.toDate < :today " +
+           "AND (br.toDate > :afterToDate OR (br.toDate = :afterToDate AND br.requestId > :afterRequestId)) " +
+           "ORDER BY br.toDate, br.requestId")
+    List<BorrowRequest> findOverdueAfter(@Param("today") LocalDate today,
+                                         @Param("afterToDate") LocalDate afterToDate,
+                                         @Param("afterRequestId") Long afterRequestId,
+                                         Pageable pageable);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE BorrowRequest br SET br.status = :newStatus, br.updatedAt = :now " +
+           "WHERE br.requestId IN :requestIds AND br.status = :expectedStatus")
+    int updateStatus(@Param("requestIds") List<Long> requestIds,
+                     @Param("expectedStatus") Status expectedStatus,
+                     @Param("newStatus") Status newStatus,
+                     @Param("now") LocalDateTime now);
+
+    @EntityGraph(attributePaths = {"equipment", "requestedBy", "approvedBy"})
+    List<BorrowRequest> findByRequestIdInAndStatus(List<Long> requestIds, Status status);
+
+    // Reconciliation queries for the in-memory dashboard counters
+    @Query("SELECT br.status, COUNT(br) FROM BorrowRequest br GROUP BY br.status")
+    List<Object[]> countGroupedByStatus();
+
+    @Query("SELECT br.equipment.equipmentId, SUM(br.quantity) FROM BorrowRequest br " +
+           "WHERE br.status IN ('APPROVED', 'OVERDUE') GROUP BY br.equipment.equipmentId")
+    List<Object[]> sumUnitsOutByEquipment();
+
+    @Query("SELECT br.requestId, br.createdAt FROM BorrowRequest br WHERE br.status = 'PENDING'")
+    List<Object[]> findPendingCreatedAt();
 }
@@ -0,0 +1,38 @@
+package com.school.equipment.repository;
+
+import com.school.equipment.entity.BorrowRequestView;
+import com.school.equipment.entity.Status;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface BorrowRequestViewRepository extends JpaRepository<BorrowRequestView, Long> {
+
+    List<BorrowRequestView> findByStatusOrderByRequestId(Status status);
+
+    @Query("SELECT v FROM BorrowRequestView v WHERE " +
+           "(:status IS NULL OR v.status = :status) AND " +
+           "(:userId IS NULL OR v.requestedBy = :userId) AND " +
+           "(:termStart IS NULL OR v.fromDate >= :termStart) AND " +
+           "(:termEnd IS NULL OR v.fromDate < :termEnd) " +
+           "ORDER BY v.requestId")
+    List<BorrowRequestView> findWithFilters(@Param("status") Status status,
+                                            @Param("userId") Long userId,
+                                            @Param("termStart") LocalDate termStart,
+                                            @Param("termEnd") LocalDate termEnd);
+
+    @Modifying
+    @Query("UPDATE BorrowRequestView v SET v.equipmentName = :name " +
+           "WHERE v.equipmentId = :equipmentId AND v.equipmentName <> :name")
+    int renameEquipment(@Param("equipmentId") Long equipmentId, @Param("name") String name);
+
+    @Modifying
+    @Query("DELETE FROM BorrowRequestView v WHERE v.equipmentId = :equipmentId")
+    int deleteByEquipmentId(@Param("equipmentId") Long equipmentId);
+}
@@ -2,11 +2,13 @@ package com.school.equipment.repository;
 
 import com.school.equipment.entity.EquipmentBooking;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -24,5 +26,29 @@ public interface EquipmentBookingRepository extends JpaRepository<EquipmentBooki
     Integer getTotalBookedQuantityForDate(@Param("equipmentId") Long equipmentId,
                                         @Param("date") LocalDate date);
 
+    // One row per booked day in the range: [bookingDate, SUM(quantity)]
+    @Query("SELECT eb.bookingDate, SUM(eb.quantity) FROM EquipmentBooking eb " +
+           "WHERE eb.equipment.equipmentId = :equipmentId " +
+           "AND eb.bookingDate BETWEEN :fromDate AND :toDate AND eb.status = 'ACTIVE' " +
+           "GROUP BY eb.bookingDate")
+    List<Object[]> sumBookedQuantityByDate(@Param("equipmentId") Long equipmentId,
+                                           @Param("fromDate") LocalDate fromDate,
+                                           @Param("toDate") LocalDate toDate);
+
+    // One row per booked item and day in the range: [equipmentId, bookingDate, SUM(quantity)]
+    @Query("SELECT eb.equipment.equipmentId, eb.bookingDate, SUM(eb.quantity) FROM EquipmentBooking eb " +
+           "WHERE eb.equipment.equipmentId IN :equipmentIds " +
+           "AND eb.bookingDate BETWEEN :fromDate AND :toDate AND eb.status = 'ACTIVE' " +
+           "GROUP BY eb.equipment.equipmentId, eb.bookingDate")
+    List<Object[]> sumBookedQuantityByEquipmentAndDate(@Param("equipmentIds") Collection<Long> equipmentIds,
+                                                       @Param("fromDate") LocalDate fromDate,
+                                                       @Param("toDate") LocalDate toDate);
+
     List<EquipmentBooking> findByBorrowRequestRequestId(Long requestId);
+
+    // Only rows still in equipment_booking; compaction may already have archived past days
+    @Modifying
+    @Query("UPDATE EquipmentBooking eb SET eb.status = 'RELEASED', eb.updatedAt = LOCAL DATETIME " +
+           "WHERE eb.borrowRequest.requestId = :requestId AND eb.status = 'ACTIVE'")
+    int releaseByRequestId(@Param("requestId") Long requestId);
 }
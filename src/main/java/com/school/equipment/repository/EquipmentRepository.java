@@ -1,20 +1,30 @@
 package com.school.equipment.repository;
 
 import com.school.equipment.entity.Equipment;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface EquipmentRepository extends JpaRepository<Equipment, Long> {
     List<Equipment> findByCategory(String category);
 
+    @EntityGraph(attributePaths = "createdBy")
+    Optional<Equipment> findWithCreatorByEquipmentId(Long equipmentId);
+
+    @EntityGraph(attributePaths = "createdBy")
+    List<Equipment> findWithCreatorByEquipmentIdIn(Collection<Long> equipmentIds);
+
     @Query("SELECT e FROM Equipment e WHERE e.availableQuantity > 0")
     List<Equipment> findAvailableEquipment();
 
+    @EntityGraph(attributePaths = "createdBy")
     @Query("SELECT e FROM Equipment e WHERE " +
            "(:category IS NULL OR e.category = :category) AND " +
            "(:availableOnly = false OR e.availableQuantity > 0) AND " +
@@ -22,4 +32,7 @@ public interface EquipmentRepository extends JpaRepository<Equipment, Long> {
     List<Equipment> findEquipmentWithFilters(@Param("category") String category,
                                            @Param("availableOnly") boolean availableOnly,
                                            @Param("search") String search);
+
+    @Query("SELECT e.equipmentId, e.category, e.totalQuantity FROM Equipment e")
+    List<Object[]> findCategoryAndCapacity();
 }
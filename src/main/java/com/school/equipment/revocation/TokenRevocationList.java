@@ -0,0 +1,128 @@
+package com.school.equipment.revocation;
+
+import com.school.equipment.entity.RevokedToken;
+import com.school.equipment.metrics.LendingMetrics;
+import com.school.equipment.repository.RevokedTokenRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory copy of the revoked_token table, consulted for every authenticated request.
+ * A Bloom filter answers "not revoked" for almost every token without touching the exact
+ * set; only probable hits are checked against it, and the database is never queried on the
+ * request path.
+ *
+ * <p>Revocations made on this instance apply immediately. Those made by other instances
+ * are picked up by the incremental refresh every {@code app.revocation.refresh-interval} ms.
+ * Every {@code app.revocation.rebuild-interval} ms, or once the filter holds more entries
+ * than it was sized for, both structures are rebuilt from the unexpired rows.
+ */
+@Slf4j
+@Component
+public class TokenRevocationList {
+
+    // Rows are stamped before their transaction commits, so each refresh rereads a short overlap
+    private static final Duration REFRESH_OVERLAP = Duration.ofMinutes(1);
+
+    private final RevokedTokenRepository repository;
+
+    private final LendingMetrics lendingMetrics;
+
+    private final int expectedRevocations;
+
+    private final double falsePositiveRate;
+
+    private volatile Snapshot snapshot;
+
+    private LocalDateTime refreshedAt;
+
+    public TokenRevocationList(RevokedTokenRepository repository, LendingMetrics lendingMetrics,
+                               @Value("${app.revocation.expected-revocations:10000}") int expectedRevocations,
+                               @Value("${app.revocation.false-positive-rate:0.001}") double falsePositiveRate) {
+        this.repository = repository;
+        this.lendingMetrics = lendingMetrics;
+        this.expectedRevocations = expectedRevocations;
+        this.falsePositiveRate = falsePositiveRate;
+    }
+
+    // Loaded before the web server starts, so no revoked token is accepted after a restart
+    @PostConstruct
+    void load() {
+        rebuild();
+    }
+
+    public boolean isRevoked(String jti) {
+        if (jti == null) {
+            return false;
+        }
+        Snapshot current = snapshot;
+        if (!current.filter().mightContain(jti)) {
+            return false;
+        }
+        boolean revoked = current.revoked().contains(jti);
+        if (!revoked) {
+            lendingMetrics.recordRevocationFalsePositive();
+        }
+        return revoked;
+    }
+
+    public void revoke(String jti, Long userId, LocalDateTime expiresAt) {
+        repository.save(new RevokedToken(jti, userId, LocalDateTime.now(), expiresAt));
+        synchronized (this) {
+            add(snapshot, jti);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.revocation.refresh-interval:5000}")
+    public synchronized void refresh() {
+        LocalDateTime now = LocalDateTime.now();
+        List<String> jtis = repository.findActiveRevokedSince(refreshedAt.minus(REFRESH_OVERLAP), now);
+        refreshedAt = now;
+        Snapshot current = snapshot;
+        jtis.forEach(jti -> add(current, jti));
+        if (current.revoked().size() > current.capacity()) {
+            rebuild();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.revocation.rebuild-interval:3600000}",
+               initialDelayString = "${app.revocation.rebuild-interval:3600000}")
+    public synchronized void rebuild() {
+        LocalDateTime now = LocalDateTime.now();
+        List<String> jtis = repository.findActive(now);
+        // Headroom so the new filter keeps its false positive rate as revocations accumulate
+        int capacity = Math.max(expectedRevocations, jtis.size() * 2);
+        Snapshot rebuilt = new Snapshot(new BloomFilter(capacity, falsePositiveRate),
+                ConcurrentHashMap.newKeySet(capacity), capacity);
+        jtis.forEach(jti -> add(rebuilt, jti));
+        snapshot = rebuilt;
+        refreshedAt = now;
+        log.debug("Rebuilt token revocation list with {} entries", jtis.size());
+    }
+
+    @Scheduled(fixedDelayString = "${app.revocation.purge-interval:600000}")
+    public void purgeExpired() {
+        int deleted = repository.deleteExpired(LocalDateTime.now());
+        if (deleted > 0) {
+            log.debug("Purged {} expired revoked tokens", deleted);
+        }
+    }
+
+    // The exact set is written first, so a reader that sees the filter bits also finds the entry
+    private static void add(Snapshot target, String jti) {
+        target.revoked().add(jti);
+        target.filter().add(jti);
+    }
+
+    private record Snapshot(BloomFilter filter, Set<String> revoked, int capacity) {
+    }
+}
@@ -1,5 +1,9 @@
 package com.school.equipment.security;
 
+import com.school.equipment.metrics.LendingMetrics;
+import com.school.equipment.revocation.TokenRevocationList;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -20,46 +24,57 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
     private JwtUtil jwtUtil;
 
+    @Autowired
+    private LendingMetrics lendingMetrics;
+
+    @Autowired
+    private TokenRevocationList tokenRevocationList;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
                                   FilterChain filterChain) throws ServletException, IOException {
 
         String authHeader = request.getHeader("Authorization");
-        String token = null;
-        String username = null;
+        Claims claims = null;
 
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
-            token = authHeader.substring(7);
+            String token = authHeader.substring(7);
             try {
-                username = jwtUtil.getUsernameFromToken(token);
-            } catch (Exception e) {
-                System.err.println("Error extracting username from token: " + e.getMessage());
+                // Parse and verify once; the claims carry username, role, userId and jti
+                claims = jwtUtil.parseClaims(token);
+                if (tokenRevocationList.isRevoked(claims.getId())) {
+                    lendingMetrics.recordJwtRevoked();
+                    claims = null;
+                } else {
+                    lendingMetrics.recordJwtVerification(true);
+                }
+            } catch (JwtException | IllegalArgumentException e) {
+                lendingMetrics.recordJwtVerification(false);
+                System.err.println("Token validation failed: " + e.getMessage());
             }
         }
 
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            if (jwtUtil.validateToken(token)) {
-                String role = jwtUtil.getRoleFromToken(token);
-                Long userId = jwtUtil.getUserIdFromToken(token);
+        if (claims != null && claims.getSubject() != null
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
+            String username = claims.getSubject();
+            String role = claims.get("role", String.class);
+            Long userId = claims.get("userId", Long.class);
 
-                System.out.println("JWT Filter - Username: " + username + ", Role: " + role + ", UserId: " + userId);
-                System.out.println("Setting authority: ROLE_" + role);
+            System.out.println("JWT Filter - Username: " + username + ", Role: " + role + ", UserId: " + userId);
+            System.out.println("Setting authority: ROLE_" + role);
 
-                UsernamePasswordAuthenticationToken authentication =
-                    new UsernamePasswordAuthenticationToken(
-                        username,
-                        null,
-                        Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role))
-                    );
+            UsernamePasswordAuthenticationToken authentication =
+                new UsernamePasswordAuthenticationToken(
+                    username,
+                    null,
+                    Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role))
+                );
 
-                // Add userId to authentication details
-                authentication.setDetails(userId);
-                SecurityContextHolder.getContext().setAuthentication(authentication);
+            // Add userId to authentication details
+            authentication.setDetails(userId);
+            SecurityContextHolder.getContext().setAuthentication(authentication);
 
-                System.out.println("Authentication set in SecurityContext. Authorities: " + authentication.getAuthorities());
-            } else {
-                System.err.println("Token validation failed for username: " + username);
-            }
+            System.out.println("Authentication set in SecurityContext. Authorities: " + authentication.getAuthorities());
         }
 
         filterChain.doFilter(request, response);
@@ -1,6 +1,15 @@
 package com.school.equipment.security;
 
+import com.school.equipment.idempotency.IdempotencyFilter;
+import com.school.equipment.idempotency.IdempotencyStore;
+import com.school.equipment.ratelimit.RateLimitFilter;
+import com.school.equipment.ratelimit.RateLimitProperties;
+import com.school.equipment.ratelimit.RateLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
@@ -27,6 +36,21 @@ public class SecurityConfig {
     @Autowired
     private JwtAuthenticationFilter jwtAuthenticationFilter;
 
+    @Autowired
+    private RateLimiter rateLimiter;
+
+    @Autowired
+    private RateLimitProperties rateLimitProperties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private IdempotencyStore idempotencyStore;
+
+    @Value("${app.idempotency.endpoints}")
+    private List<String> idempotentEndpoints;
+
     @Bean
     public PasswordEncoder passwordEncoder() {
         return new BCryptPasswordEncoder();
@@ -39,12 +63,16 @@ public class SecurityConfig {
                 .csrf(AbstractHttpConfigurer::disable)
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(authz -> authz
+                        // Completion of SSE streams re-dispatches without a JWT; the original request was authorized
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+
                         // Auth APIs
                         .requestMatchers("/api/auth/**").permitAll()
 
                         // Equipment APIs - Order matters! More specific rules first
                         .requestMatchers("/api/equipment").hasAnyRole("ADMIN", "STAFF", "STUDENT") // GET all equipment
                         .requestMatchers("/api/equipment/{id}").hasAnyRole("ADMIN", "STAFF", "STUDENT") // GET by ID
+                        .requestMatchers("/api/equipment/{id}/availability").hasAnyRole("ADMIN", "STAFF", "STUDENT")
                         // Requests APIs: require authentication and roles
                         .requestMatchers("/api/requests/**").authenticated()
 
@@ -56,10 +84,18 @@ public class SecurityConfig {
                                 "/v3/api-docs.yaml"
                         ).permitAll()
 
+                        // Actuator endpoints are only served on the internal management port
+                        .requestMatchers(EndpointRequest.toAnyEndpoint()).permitAll()
+
                         // Other endpoints
                         .anyRequest().authenticated()
                 )
-                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+                .addFilterAfter(new IdempotencyFilter(idempotencyStore, idempotentEndpoints),
+                        JwtAuthenticationFilter.class)
+                // Replays are answered before the limiter, so client retries do not use up tokens
+                .addFilterAfter(new RateLimitFilter(rateLimiter, rateLimitProperties, meterRegistry),
+                        IdempotencyFilter.class);
 
         return http.build();
     }
@@ -0,0 +1,127 @@
+package com.school.equipment.service;
+
+import com.school.equipment.dto.analytics.ItemUtilization;
+import com.school.equipment.dto.analytics.UtilizationResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Utilization over live and archived bookings. Booking and request rows are streamed with a
+ * cursor and folded into primitive arrays indexed by equipment, so memory depends on the
+ * number of items rather than the length of the range. Top-N uses a bounded heap.
+ */
+@Service
+public class AnalyticsService {
+
+    private static final String EQUIPMENT =
+            "SELECT equipment_id, name, category, total_quantity FROM equipment ORDER BY equipment_id";
+
+    private static final String EQUIPMENT_IN_CATEGORY =
+            "SELECT equipment_id, name, category, total_quantity FROM equipment WHERE category = ? ORDER BY equipment_id";
+
+    // Returning releases every booked day, including the ones after an early return; released days
+    // only count up to the request's return date, wherever the request and its bookings now live
+    private static final String USED_DAY =
+            "(b.status = 'ACTIVE' OR b.booking_date <= COALESCE(r.return_date, a.return_date))";
+
+    private static final String BOOKED_UNITS =
+            "SELECT b.equipment_id, b.quantity FROM equipment_booking b " +
+            "LEFT JOIN borrow_request r ON r.request_id = b.request_id " +
+            "LEFT JOIN borrow_request_archive a ON a.request_id = b.request_id " +
+            "WHERE b.booking_date BETWEEN ? AND ? AND " + USED_DAY + " " +
+            "UNION ALL " +
+            "SELECT b.equipment_id, b.quantity FROM equipment_booking_history b " +
+            "LEFT JOIN borrow_request r ON r.request_id = b.request_id " +
+            "LEFT JOIN borrow_request_archive a ON a.request_id = b.request_id " +
+            "WHERE b.booking_date BETWEEN ? AND ? AND " + USED_DAY;
+
+    private static final String LOANS =
+            "SELECT equipment_id FROM borrow_request " +
+            "WHERE status IN ('APPROVED', 'OVERDUE', 'RETURNED') AND from_date BETWEEN ? AND ? " +
+            "UNION ALL " +
+            "SELECT equipment_id FROM borrow_request_archive WHERE status = 'RETURNED' AND from_date BETWEEN ? AND ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final JdbcTemplate streamingJdbcTemplate;
+
+    public AnalyticsService(JdbcTemplate jdbcTemplate,
+                            @Value("${app.analytics.fetch-size:1000}") int fetchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        // With useCursorFetch=true MySQL streams in fetch-size batches instead of buffering the result
+        this.streamingJdbcTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+        this.streamingJdbcTemplate.setFetchSize(fetchSize);
+    }
+
+    @Transactional(readOnly = true)
+    public UtilizationResponse getUtilization(LocalDate from, LocalDate to, String category, int top) {
+        if (from.isAfter(to)) {
+            throw new RuntimeException("From date cannot be after to date");
+        }
+        long days = ChronoUnit.DAYS.between(from, to) + 1;
+
+        RowMapper<Object[]> equipmentRow = (rs, rowNum) -> new Object[] {
+                rs.getLong(1), rs.getString(2), rs.getString(3), rs.getInt(4)};
+        List<Object[]> equipment = category != null
+                ? jdbcTemplate.query(EQUIPMENT_IN_CATEGORY, equipmentRow, category)
+                : jdbcTemplate.query(EQUIPMENT, equipmentRow);
+        long[] ids = equipment.stream().mapToLong(row -> (Long) row[0]).toArray();
+        long[] bookedUnitDays = new long[ids.length];
+        long[] loans = new long[ids.length];
+
+        Date fromDate = Date.valueOf(from);
+        Date toDate = Date.valueOf(to);
+        streamingJdbcTemplate.query(BOOKED_UNITS, rs -> {
+            int index = Arrays.binarySearch(ids, rs.getLong(1));
+            if (index >= 0) {
+                bookedUnitDays[index] += rs.getInt(2);
+            }
+        }, fromDate, toDate, fromDate, toDate);
+        streamingJdbcTemplate.query(LOANS, rs -> {
+            int index = Arrays.binarySearch(ids, rs.getLong(1));
+            if (index >= 0) {
+                loans[index]++;
+            }
+        }, fromDate, toDate, fromDate, toDate);
+
+        List<ItemUtilization> items = new ArrayList<>(ids.length);
+        for (int i = 0; i < ids.length; i++) {
+            Object[] row = equipment.get(i);
+            int totalQuantity = (Integer) row[3];
+            long capacity = totalQuantity * days;
+            items.add(new ItemUtilization(ids[i], (String) row[1], (String) row[2], totalQuantity,
+                    bookedUnitDays[i], capacity, capacity == 0 ? 0.0 : (double) bookedUnitDays[i] / capacity, loans[i]));
+        }
+
+        List<ItemUtilization> mostBorrowed = topN(items, top, Comparator.comparingLong(ItemUtilization::getLoans));
+        items.sort(Comparator.comparingDouble(ItemUtilization::getUtilization).reversed());
+        return new UtilizationResponse(from, to, category, days, items, mostBorrowed);
+    }
+
+    private static List<ItemUtilization> topN(List<ItemUtilization> items, int n, Comparator<ItemUtilization> order) {
+        PriorityQueue<ItemUtilization> heap = new PriorityQueue<>(Math.max(1, n), order);
+        for (ItemUtilization item : items) {
+            if (heap.size() < n) {
+                heap.add(item);
+            } else if (n > 0 && order.compare(item, heap.peek()) > 0) {
+                heap.poll();
+                heap.add(item);
+            }
+        }
+        List<ItemUtilization> result = new ArrayList<>(heap);
+        result.sort(order.reversed());
+        return result;
+    }
+}
@@ -7,11 +7,20 @@ import com.school.equipment.dto.user.UserResponse;
 import com.school.equipment.entity.User;
 import com.school.equipment.exception.InvalidCredentialsException;
 import com.school.equipment.exception.UserAlreadyExistsException;
+import com.school.equipment.jfr.PasswordMatchEvent;
+import com.school.equipment.metrics.LendingMetrics;
 import com.school.equipment.repository.UserRepository;
+import com.school.equipment.revocation.TokenRevocationList;
 import com.school.equipment.security.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 
 @Service
 public class AuthService {
@@ -22,12 +31,20 @@ public class AuthService {
 
     private final JwtUtil jwtUtil;
 
-    public AuthService(UserRepository userRepository, PasswordEncoder passwordEncoder, JwtUtil jwtUtil) {
+    private final LendingMetrics lendingMetrics;
+
+    private final TokenRevocationList tokenRevocationList;
+
+    public AuthService(UserRepository userRepository, PasswordEncoder passwordEncoder, JwtUtil jwtUtil,
+                       LendingMetrics lendingMetrics, TokenRevocationList tokenRevocationList) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.jwtUtil = jwtUtil;
+        this.lendingMetrics = lendingMetrics;
+        this.tokenRevocationList = tokenRevocationList;
     }
 
+    @Transactional
     public UserResponse register(RegisterRequest request) throws UserAlreadyExistsException {
         if (userRepository.existsByUsername(request.getUsername())) {
             throw new UserAlreadyExistsException("Username already exists");
@@ -55,11 +72,17 @@ public class AuthService {
         );
     }
 
+    // Not transactional: the lookup runs in the repository's own short transaction, so no pooled
+    // connection is held while BCrypt verifies the password
     public LoginResponse login(LoginRequest request) throws InvalidCredentialsException {
-        User user = userRepository.findByUsername(request.getUsername())
-            .orElseThrow(() -> new InvalidCredentialsException("Invalid username or password"));
+        User user = userRepository.findByUsername(request.getUsername()).orElse(null);
+        if (user == null) {
+            lendingMetrics.recordLoginFailure();
+            throw new InvalidCredentialsException("Invalid username or password");
+        }
 
-        if (!passwordEncoder.matches(request.getPassword(), user.getPasswordHash())) {
+        if (!passwordMatches(request.getPassword(), user.getPasswordHash())) {
+            lendingMetrics.recordLoginFailure();
             throw new InvalidCredentialsException("Invalid username or password");
         }
 
@@ -76,4 +99,41 @@ public class AuthService {
             user.getUserId()
         );
     }
+
+    /**
+     * Revokes the given bearer token until it expires. Tokens issued before jti claims were
+     * added cannot be revoked and simply run out.
+     */
+    public void logout(String authorizationHeader) throws InvalidCredentialsException {
+        if (authorizationHeader == null || !authorizationHeader.startsWith("Bearer ")) {
+            throw new InvalidCredentialsException("Missing bearer token");
+        }
+
+        Claims claims;
+        try {
+            claims = jwtUtil.parseClaims(authorizationHeader.substring(7));
+        } catch (JwtException | IllegalArgumentException e) {
+            throw new InvalidCredentialsException("Invalid token");
+        }
+        if (claims.getId() == null) {
+            throw new RuntimeException("Token has no id and cannot be revoked");
+        }
+
+        tokenRevocationList.revoke(
+            claims.getId(),
+            claims.get("userId", Long.class),
+            LocalDateTime.ofInstant(claims.getExpiration().toInstant(), ZoneId.systemDefault())
+        );
+    }
+
+    private boolean passwordMatches(String rawPassword, String passwordHash) {
+        PasswordMatchEvent event = new PasswordMatchEvent();
+        event.begin();
+        try {
+            event.matched = passwordEncoder.matches(rawPassword, passwordHash);
+            return event.matched;
+        } finally {
+            event.commit();
+        }
+    }
 }
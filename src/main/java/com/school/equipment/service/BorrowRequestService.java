@@ -1,43 +1,113 @@
 package com.school.equipment.service;
 
+import com.school.equipment.dto.batch.BatchGetItem;
 import com.school.equipment.dto.borrow.*;
 import com.school.equipment.entity.*;
+import com.school.equipment.event.BorrowRequestEvent;
+import com.school.equipment.event.BorrowRequestEventType;
+import com.school.equipment.event.CartEvent;
+import com.school.equipment.fields.FieldSelection;
+import com.school.equipment.fields.SparseProjection;
+import com.school.equipment.jfr.ApprovalEvent;
+import com.school.equipment.jfr.AvailabilityCheckEvent;
+import com.school.equipment.metrics.LendingMetrics;
+import com.school.equipment.metrics.SqlStatementCounter;
+import com.school.equipment.repository.BorrowCartRepository;
+import com.school.equipment.repository.BorrowRequestArchiveRepository;
 import com.school.equipment.repository.BorrowRequestRepository;
+import com.school.equipment.repository.BorrowRequestViewRepository;
 import com.school.equipment.repository.EquipmentBookingRepository;
 import com.school.equipment.repository.EquipmentRepository;
 import com.school.equipment.repository.UserRepository;
+import com.school.equipment.term.AcademicTerm;
+import com.school.equipment.term.AcademicTermCalendar;
+import com.school.equipment.user.UserProfile;
+import com.school.equipment.user.UserProfileCache;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.Predicate;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
 public class BorrowRequestService {
 
+    private static final String INSERT_BOOKING =
+        "INSERT INTO equipment_booking (request_id, equipment_id, booking_date, quantity, status, created_at, updated_at) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private static final SparseProjection<BorrowRequestView, BorrowRequestResponse> VIEW_FIELDS =
+        requestProjection(BorrowRequestView.class);
+
+    private static final SparseProjection<BorrowRequestArchive, BorrowRequestResponse> ARCHIVE_FIELDS =
+        requestProjection(BorrowRequestArchive.class);
+
     @Autowired
     private BorrowRequestRepository borrowRequestRepository;
 
+    @Autowired
+    private BorrowCartRepository borrowCartRepository;
+
     @Autowired
     private EquipmentRepository equipmentRepository;
 
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private UserProfileCache userProfileCache;
+
     @Autowired
     private EquipmentBookingRepository equipmentBookingRepository;
 
+    @Autowired
+    private BorrowRequestViewRepository borrowRequestViewRepository;
+
+    @Autowired
+    private BorrowRequestArchiveRepository borrowRequestArchiveRepository;
+
+    @Autowired
+    private AcademicTermCalendar academicTermCalendar;
+
+    @Autowired
+    private LendingMetrics lendingMetrics;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
     @Transactional
+    @Timed(value = "lending.borrow.operation", extraTags = {"operation", "create"}, histogram = true)
     public CreateResponse createBorrowRequest(CreateRequest request, Long userId) {
         // Validate equipment exists
         Equipment equipment = equipmentRepository.findById(request.getEquipmentId())
             .orElseThrow(() -> new RuntimeException("Equipment not found"));
 
         // Validate user exists
-        User user = userRepository.findById(userId)
-            .orElseThrow(() -> new RuntimeException("User not found"));
+        if (!userProfileCache.exists(userId)) {
+            throw new RuntimeException("User not found");
+        }
 
         // Validate dates
         if (request.getFromDate().isAfter(request.getToDate())) {
@@ -57,7 +127,7 @@ public class BorrowRequestService {
         // Create borrow request
         BorrowRequest borrowRequest = new BorrowRequest();
         borrowRequest.setEquipment(equipment);
-        borrowRequest.setRequestedBy(user);
+        borrowRequest.setRequestedBy(userRepository.getReferenceById(userId));
         borrowRequest.setQuantity(request.getQuantity());
         borrowRequest.setFromDate(request.getFromDate());
         borrowRequest.setToDate(request.getToDate());
@@ -65,6 +135,7 @@ public class BorrowRequestService {
         borrowRequest.setStatus(Status.PENDING);
 
         BorrowRequest savedRequest = borrowRequestRepository.save(borrowRequest);
+        publishEvent(BorrowRequestEventType.CREATED, null, savedRequest);
 
         return new CreateResponse(
             savedRequest.getRequestId(),
@@ -73,23 +144,194 @@ public class BorrowRequestService {
         );
     }
 
+    /**
+     * Creates one pending request per line, all for the same dates. Every line is checked with
+     * a single grouped booking query; if any item does not fit, nothing is created.
+     */
+    @Transactional
+    @Timed(value = "lending.borrow.operation", extraTags = {"operation", "create_cart"}, histogram = true)
+    public CartResponse createCart(CreateCartRequest request, Long userId) {
+        if (!userProfileCache.exists(userId)) {
+            throw new RuntimeException("User not found");
+        }
+
+        if (request.getFromDate().isAfter(request.getToDate())) {
+            throw new RuntimeException("From date cannot be after to date");
+        }
+
+        if (request.getFromDate().isBefore(LocalDate.now())) {
+            throw new RuntimeException("From date cannot be in the past");
+        }
+
+        Map<Long, Integer> quantities = new HashMap<>();
+        for (CartLine line : request.getLines()) {
+            if (quantities.put(line.getEquipmentId(), line.getQuantity()) != null) {
+                throw new RuntimeException("Each item can appear only once in a cart");
+            }
+        }
+
+        Map<Long, Equipment> equipment = new HashMap<>();
+        for (Equipment item : equipmentRepository.findAllById(quantities.keySet())) {
+            equipment.put(item.getEquipmentId(), item);
+        }
+        if (equipment.size() != quantities.size()) {
+            throw new RuntimeException("Equipment not found");
+        }
+
+        if (!isCartAvailable(equipment, quantities, request.getFromDate(), request.getToDate())) {
+            throw new RuntimeException("Not enough equipment available for the requested period");
+        }
+
+        User requestedBy = userRepository.getReferenceById(userId);
+        BorrowCart cart = new BorrowCart();
+        cart.setRequestedBy(requestedBy);
+        cart.setFromDate(request.getFromDate());
+        cart.setToDate(request.getToDate());
+        cart.setReason(request.getReason());
+        BorrowCart savedCart = borrowCartRepository.save(cart);
+
+        List<BorrowRequest> lines = new ArrayList<>();
+        for (CartLine line : request.getLines()) {
+            BorrowRequest borrowRequest = new BorrowRequest();
+            borrowRequest.setCart(savedCart);
+            borrowRequest.setEquipment(equipment.get(line.getEquipmentId()));
+            borrowRequest.setRequestedBy(requestedBy);
+            borrowRequest.setQuantity(line.getQuantity());
+            borrowRequest.setFromDate(request.getFromDate());
+            borrowRequest.setToDate(request.getToDate());
+            borrowRequest.setReason(request.getReason());
+            borrowRequest.setStatus(Status.PENDING);
+            lines.add(borrowRequest);
+        }
+
+        List<BorrowRequestResponse> responses = borrowRequestRepository.saveAll(lines).stream()
+            .map(line -> publishEvent(BorrowRequestEventType.CREATED, null, line))
+            .collect(Collectors.toList());
+        return mapToResponse(savedCart, responses);
+    }
+
+    /**
+     * Approves every line of a pending cart or none of them: availability of all items is
+     * checked with one grouped query and all bookings are inserted in one JDBC batch.
+     */
     @Transactional
+    @Timed(value = "lending.borrow.operation", extraTags = {"operation", "approve_cart"}, histogram = true)
+    public CartResponse approveCart(Long cartId, ApproveRequest approveRequest) {
+        BorrowCart cart = borrowCartRepository.findById(cartId)
+            .orElseThrow(() -> new RuntimeException("Cart not found"));
+        List<BorrowRequest> lines = findPendingLines(cartId, "approved");
+
+        if (!userProfileCache.exists(approveRequest.getApprovedBy())) {
+            throw new RuntimeException("Approver not found");
+        }
+        User approvedBy = userRepository.getReferenceById(approveRequest.getApprovedBy());
+
+        Map<Long, Equipment> equipment = new HashMap<>();
+        Map<Long, Integer> quantities = new HashMap<>();
+        for (BorrowRequest line : lines) {
+            equipment.put(line.getEquipment().getEquipmentId(), line.getEquipment());
+            quantities.merge(line.getEquipment().getEquipmentId(), line.getQuantity(), Integer::sum);
+        }
+
+        if (!isCartAvailable(equipment, quantities, cart.getFromDate(), cart.getToDate())) {
+            throw new RuntimeException("Equipment no longer available for the requested period");
+        }
+
+        for (BorrowRequest line : lines) {
+            line.setStatus(Status.APPROVED);
+            line.setApprovedBy(approvedBy);
+            line.setRemarks(approveRequest.getRemarks());
+            Equipment item = line.getEquipment();
+            item.setAvailableQuantity(item.getAvailableQuantity() - line.getQuantity());
+        }
+        createBookingEntries(lines);
+        equipmentRepository.saveAll(equipment.values());
+
+        List<BorrowRequestResponse> responses = borrowRequestRepository.saveAll(lines).stream()
+            .map(line -> publishEvent(BorrowRequestEventType.APPROVED, Status.PENDING, line))
+            .collect(Collectors.toList());
+        return publishCartEvent(BorrowRequestEventType.APPROVED, mapToResponse(cart, responses));
+    }
+
+    @Transactional
+    @Timed(value = "lending.borrow.operation", extraTags = {"operation", "reject_cart"}, histogram = true)
+    public CartResponse rejectCart(Long cartId, RejectRequest rejectRequest) {
+        BorrowCart cart = borrowCartRepository.findById(cartId)
+            .orElseThrow(() -> new RuntimeException("Cart not found"));
+        List<BorrowRequest> lines = findPendingLines(cartId, "rejected");
+
+        for (BorrowRequest line : lines) {
+            line.setStatus(Status.REJECTED);
+            line.setRemarks(rejectRequest.getRemarks());
+        }
+
+        List<BorrowRequestResponse> responses = borrowRequestRepository.saveAll(lines).stream()
+            .map(line -> publishEvent(BorrowRequestEventType.REJECTED, Status.PENDING, line))
+            .collect(Collectors.toList());
+        return publishCartEvent(BorrowRequestEventType.REJECTED, mapToResponse(cart, responses));
+    }
+
+    @Transactional(readOnly = true)
+    public CartResponse getCart(Long cartId) {
+        BorrowCart cart = borrowCartRepository.findById(cartId)
+            .orElseThrow(() -> new RuntimeException("Cart not found"));
+        List<BorrowRequestResponse> responses = borrowRequestRepository.findWithDetailsByCartCartIdOrderByRequestId(cartId)
+            .stream().map(this::mapToResponse).collect(Collectors.toList());
+        return mapToResponse(cart, responses);
+    }
+
+    private List<BorrowRequest> findPendingLines(Long cartId, String action) {
+        List<BorrowRequest> lines = borrowRequestRepository.findWithDetailsByCartCartIdOrderByRequestId(cartId);
+        if (lines.isEmpty() || lines.stream().anyMatch(line -> line.getStatus() != Status.PENDING)) {
+            throw new RuntimeException("Only pending carts can be " + action);
+        }
+        return lines;
+    }
+
+    @Transactional
+    @Timed(value = "lending.borrow.operation", extraTags = {"operation", "approve"}, histogram = true)
     public BorrowRequestResponse approveRequest(Long requestId, ApproveRequest approveRequest) {
-        BorrowRequest borrowRequest = borrowRequestRepository.findById(requestId)
+        ApprovalEvent event = new ApprovalEvent();
+        event.begin();
+        event.requestId = requestId;
+        event.outcome = "FAILED";
+        try {
+            return approve(requestId, approveRequest, event);
+        } finally {
+            event.commit();
+        }
+    }
+
+    private BorrowRequestResponse approve(Long requestId, ApproveRequest approveRequest, ApprovalEvent event) {
+        BorrowRequest borrowRequest = borrowRequestRepository.findWithDetailsByRequestId(requestId)
             .orElseThrow(() -> new RuntimeException("Request not found"));
 
         if (borrowRequest.getStatus() != Status.PENDING) {
+            event.outcome = "NOT_PENDING";
             throw new RuntimeException("Only pending requests can be approved");
         }
 
-        User approvedBy = userRepository.findById(approveRequest.getApprovedBy())
-            .orElseThrow(() -> new RuntimeException("Approver not found"));
+        if (borrowRequest.getCart() != null) {
+            event.outcome = "IN_CART";
+            throw new RuntimeException("Requests in a cart are approved together with the cart");
+        }
+
+        if (!userProfileCache.exists(approveRequest.getApprovedBy())) {
+            throw new RuntimeException("Approver not found");
+        }
+        User approvedBy = userRepository.getReferenceById(approveRequest.getApprovedBy());
+
+        event.equipmentId = borrowRequest.getEquipment().getEquipmentId();
+        event.windowDays = windowDays(borrowRequest.getFromDate(), borrowRequest.getToDate());
 
         // Double-check availability before approval
-        if (!isEquipmentAvailable(borrowRequest.getEquipment().getEquipmentId(),
+        AvailabilityResult availability = checkAvailability(borrowRequest.getEquipment().getEquipmentId(),
                                 borrowRequest.getQuantity(),
                                 borrowRequest.getFromDate(),
-                                borrowRequest.getToDate())) {
+                                borrowRequest.getToDate());
+        event.daysScanned = availability.daysScanned();
+        if (!availability.available()) {
+            event.outcome = "UNAVAILABLE";
             throw new RuntimeException("Equipment no longer available for the requested period");
         }
 
@@ -99,7 +341,7 @@ public class BorrowRequestService {
         borrowRequest.setRemarks(approveRequest.getRemarks());
 
         // Create booking entries for each date
-        createBookingEntries(borrowRequest);
+        event.rowsWritten = createBookingEntries(List.of(borrowRequest));
 
         // Update equipment available quantity
         Equipment equipment = borrowRequest.getEquipment();
@@ -107,32 +349,40 @@ public class BorrowRequestService {
         equipmentRepository.save(equipment);
 
         BorrowRequest savedRequest = borrowRequestRepository.save(borrowRequest);
-        return mapToResponse(savedRequest);
+        event.outcome = "APPROVED";
+        return publishEvent(BorrowRequestEventType.APPROVED, Status.PENDING, savedRequest);
     }
 
     @Transactional
+    @Timed(value = "lending.borrow.operation", extraTags = {"operation", "reject"}, histogram = true)
     public BorrowRequestResponse rejectRequest(Long requestId, RejectRequest rejectRequest) {
-        BorrowRequest borrowRequest = borrowRequestRepository.findById(requestId)
+        BorrowRequest borrowRequest = borrowRequestRepository.findWithDetailsByRequestId(requestId)
             .orElseThrow(() -> new RuntimeException("Request not found"));
 
         if (borrowRequest.getStatus() != Status.PENDING) {
             throw new RuntimeException("Only pending requests can be rejected");
         }
 
+        if (borrowRequest.getCart() != null) {
+            throw new RuntimeException("Requests in a cart are rejected together with the cart");
+        }
+
         borrowRequest.setStatus(Status.REJECTED);
         borrowRequest.setRemarks(rejectRequest.getRemarks());
 
         BorrowRequest savedRequest = borrowRequestRepository.save(borrowRequest);
-        return mapToResponse(savedRequest);
+        return publishEvent(BorrowRequestEventType.REJECTED, Status.PENDING, savedRequest);
     }
 
     @Transactional
+    @Timed(value = "lending.borrow.operation", extraTags = {"operation", "return"}, histogram = true)
     public BorrowRequestResponse markAsReturned(Long requestId, ReturnRequest returnRequest) {
-        BorrowRequest borrowRequest = borrowRequestRepository.findById(requestId)
+        BorrowRequest borrowRequest = borrowRequestRepository.findWithDetailsByRequestId(requestId)
             .orElseThrow(() -> new RuntimeException("Request not found"));
 
-        if (borrowRequest.getStatus() != Status.APPROVED) {
-            throw new RuntimeException("Only approved requests can be marked as returned");
+        Status previousStatus = borrowRequest.getStatus();
+        if (previousStatus != Status.APPROVED && previousStatus != Status.OVERDUE) {
+            throw new RuntimeException("Only approved or overdue requests can be marked as returned");
         }
 
         borrowRequest.setStatus(Status.RETURNED);
@@ -140,9 +390,7 @@ public class BorrowRequestService {
         borrowRequest.setConditionAfterUse(returnRequest.getConditionAfterUse());
 
         // Release booking entries
-        List<EquipmentBooking> bookings = equipmentBookingRepository.findByBorrowRequestRequestId(requestId);
-        bookings.forEach(booking -> booking.setStatus(EquipmentBooking.Status.RELEASED));
-        equipmentBookingRepository.saveAll(bookings);
+        equipmentBookingRepository.releaseByRequestId(requestId);
 
         // Update equipment available quantity
         Equipment equipment = borrowRequest.getEquipment();
@@ -150,80 +398,307 @@ public class BorrowRequestService {
         equipmentRepository.save(equipment);
 
         BorrowRequest savedRequest = borrowRequestRepository.save(borrowRequest);
-        return mapToResponse(savedRequest);
+        return publishEvent(BorrowRequestEventType.RETURNED, previousStatus, savedRequest);
+    }
+
+    /**
+     * Moves the given requests from APPROVED to OVERDUE and publishes an event for each one
+     * actually changed. The conditional update skips requests returned in the meantime.
+     */
+    @Transactional
+    public int markOverdue(List<Long> requestIds) {
+        if (requestIds.isEmpty()) {
+            return 0;
+        }
+        borrowRequestRepository.updateStatus(requestIds, Status.APPROVED, Status.OVERDUE, LocalDateTime.now());
+
+        List<BorrowRequest> overdue = borrowRequestRepository.findByRequestIdInAndStatus(requestIds, Status.OVERDUE);
+        overdue.forEach(borrowRequest -> publishEvent(BorrowRequestEventType.OVERDUE, Status.APPROVED, borrowRequest));
+        lendingMetrics.recordOverdueMarked(overdue.size());
+        return overdue.size();
     }
 
+    /**
+     * Announces a pending request whose quantity now fits, so staff can approve it without
+     * rescanning the queue. Returns false if it is no longer pending or still does not fit.
+     */
+    @Transactional
+    public boolean flagIfAvailable(Long requestId) {
+        BorrowRequest borrowRequest = borrowRequestRepository.findWithDetailsByRequestId(requestId)
+            .orElseThrow(() -> new RuntimeException("Request not found"));
+
+        if (borrowRequest.getStatus() != Status.PENDING || borrowRequest.getCart() != null
+                || !isEquipmentAvailable(borrowRequest.getEquipment().getEquipmentId(), borrowRequest.getQuantity(),
+                                         borrowRequest.getFromDate(), borrowRequest.getToDate())) {
+            return false;
+        }
+
+        publishEvent(BorrowRequestEventType.READY_FOR_APPROVAL, Status.PENDING, borrowRequest);
+        return true;
+    }
+
+    @Transactional(readOnly = true)
     public BorrowRequestResponse getRequestById(Long requestId) {
-        BorrowRequest borrowRequest = borrowRequestRepository.findById(requestId)
+        BorrowRequest borrowRequest = borrowRequestRepository.findWithDetailsByRequestId(requestId)
             .orElseThrow(() -> new RuntimeException("Request not found"));
         return mapToResponse(borrowRequest);
     }
 
-    public List<BorrowRequestResponse> getMyRequests(Long userId) {
-        User user = userRepository.findById(userId)
-            .orElseThrow(() -> new RuntimeException("User not found"));
+    /**
+     * Loads the given requests with one IN query and returns one entry per requested id, in
+     * request order, marking ids that do not exist.
+     */
+    @Transactional(readOnly = true)
+    public List<BatchGetItem<BorrowRequestResponse>> getRequestsByIds(List<Long> requestIds) {
+        Map<Long, BorrowRequestResponse> found = new HashMap<>();
+        for (BorrowRequest borrowRequest : borrowRequestRepository.findWithDetailsByRequestIdIn(new HashSet<>(requestIds))) {
+            found.put(borrowRequest.getRequestId(), mapToResponse(borrowRequest));
+        }
+        return requestIds.stream()
+            .map(id -> BatchGetItem.of(id, found.get(id)))
+            .collect(Collectors.toList());
+    }
 
-        List<BorrowRequest> requests = borrowRequestRepository.findByRequestedBy(user);
-        return requests.stream().map(this::mapToResponse).collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public List<BorrowRequestResponse> getMyRequests(Long userId, String term, boolean includeArchived,
+                                                     FieldSelection fields) {
+        if (!userProfileCache.exists(userId)) {
+            throw new RuntimeException("User not found");
+        }
+        return findAcrossTiers(null, userId, term, includeArchived, fields);
     }
 
+    @Transactional(readOnly = true)
     public List<BorrowRequestResponse> getPendingRequests() {
-        List<BorrowRequest> requests = borrowRequestRepository.findByStatus(Status.PENDING);
-        return requests.stream().map(this::mapToResponse).collect(Collectors.toList());
+        return getPendingRequests(FieldSelection.all());
     }
 
-    public List<BorrowRequestResponse> getRequestsWithFilters(Status status, Long userId) {
-        List<BorrowRequest> requests = borrowRequestRepository.findRequestsWithFilters(status, userId);
+    @Transactional(readOnly = true)
+    public List<BorrowRequestResponse> getPendingRequests(FieldSelection fields) {
+        if (!fields.isAll()) {
+            return VIEW_FIELDS.list(entityManager, fields, requestFilter(Status.PENDING, null), "requestId");
+        }
+        List<BorrowRequestView> requests = borrowRequestViewRepository.findByStatusOrderByRequestId(Status.PENDING);
         return requests.stream().map(this::mapToResponse).collect(Collectors.toList());
     }
 
-    private boolean isEquipmentAvailable(Long equipmentId, Integer requestedQuantity, LocalDate fromDate, LocalDate toDate) {
-        Equipment equipment = equipmentRepository.findById(equipmentId).orElse(null);
-        if (equipment == null) {
-            return false;
+    @Transactional(readOnly = true)
+    public List<BorrowRequestResponse> getRequestsWithFilters(Status status, Long userId, String term,
+                                                              boolean includeArchived, FieldSelection fields) {
+        return findAcrossTiers(status, userId, term, includeArchived, fields);
+    }
+
+    // borrow_request holds the current term plus anything still open; closed terms are archived.
+    // Both tiers are read from denormalized tables, so listings need no joins. Each tier comes back
+    // ordered by request id and the merged list is sorted again, so requestId is always selected.
+    private List<BorrowRequestResponse> findAcrossTiers(Status status, Long userId, String term,
+                                                        boolean includeArchived, FieldSelection fields) {
+        AcademicTerm academicTerm = term != null ? academicTermCalendar.parse(term) : null;
+        boolean closedTerm = academicTerm != null
+                && academicTerm.start().isBefore(academicTermCalendar.current().start());
+        boolean merge = includeArchived || closedTerm;
+        if (merge) {
+            fields = fields.with("requestId");
+        }
+        List<BorrowRequestResponse> responses;
+        if (fields.isAll()) {
+            responses = borrowRequestViewRepository.findWithFilters(status, userId,
+                    academicTerm != null ? academicTerm.start() : null,
+                    academicTerm != null ? academicTerm.end() : null)
+                .stream().map(this::mapToResponse).collect(Collectors.toCollection(ArrayList::new));
+        } else {
+            Specification<BorrowRequestView> filter = requestFilter(status, userId);
+            if (academicTerm != null) {
+                filter = filter.and((root, query, cb) -> cb.and(
+                    cb.greaterThanOrEqualTo(root.<LocalDate>get("fromDate"), academicTerm.start()),
+                    cb.lessThan(root.<LocalDate>get("fromDate"), academicTerm.end())));
+            }
+            responses = new ArrayList<>(VIEW_FIELDS.list(entityManager, fields, filter, "requestId"));
         }
 
-        // Check each date in the range
-        LocalDate date = fromDate;
-        while (!date.isAfter(toDate)) {
-            Integer bookedQuantity = equipmentBookingRepository.getTotalBookedQuantityForDate(equipmentId, date);
-            if (bookedQuantity == null) {
-                bookedQuantity = 0;
+        if (merge) {
+            String termId = academicTerm != null ? academicTerm.id() : null;
+            if (fields.isAll()) {
+                borrowRequestArchiveRepository.findArchivedWithFilters(status, userId, termId)
+                    .forEach(archived -> responses.add(mapToResponse(archived)));
+            } else {
+                Specification<BorrowRequestArchive> filter = requestFilter(status, userId);
+                if (termId != null) {
+                    filter = filter.and((root, query, cb) -> cb.equal(root.get("term"), termId));
+                }
+                responses.addAll(ARCHIVE_FIELDS.list(entityManager, fields, filter, "requestId"));
             }
+            // Requests stay open across terms, so archived ids interleave with hot ones
+            responses.sort(Comparator.comparing(BorrowRequestResponse::getRequestId));
+        }
+        return responses;
+    }
 
-            int availableForDate = equipment.getTotalQuantity() - bookedQuantity;
-            if (availableForDate < requestedQuantity) {
-                return false;
+    // Sparse fieldsets select only the requested columns of borrow_request_view or the archive,
+    // which share column names
+    private static <E> SparseProjection<E, BorrowRequestResponse> requestProjection(Class<E> entityType) {
+        return new SparseProjection<>(entityType, BorrowRequestResponse::new)
+            .field("requestId", "requestId", BorrowRequestResponse::setRequestId)
+            .field("equipmentId", "equipmentId", BorrowRequestResponse::setEquipmentId)
+            .field("equipmentName", "equipmentName", BorrowRequestResponse::setEquipmentName)
+            .field("userId", "requestedBy", BorrowRequestResponse::setUserId)
+            .field("userName", "requesterName", BorrowRequestResponse::setUserName)
+            .field("quantity", "quantity", BorrowRequestResponse::setQuantity)
+            .field("fromDate", "fromDate", BorrowRequestResponse::setFromDate)
+            .field("toDate", "toDate", BorrowRequestResponse::setToDate)
+            .field("returnDate", "returnDate", BorrowRequestResponse::setReturnDate)
+            .field("reason", "reason", BorrowRequestResponse::setReason)
+            .field("status", "status", BorrowRequestResponse::setStatus)
+            .field("remarks", "remarks", BorrowRequestResponse::setRemarks)
+            .field("conditionAfterUse", "conditionAfterUse", BorrowRequestResponse::setConditionAfterUse)
+            .field("approvedBy", "approverName", BorrowRequestResponse::setApprovedBy)
+            .field("createdAt", "createdAt", BorrowRequestResponse::setCreatedAt)
+            .field("updatedAt", "updatedAt", BorrowRequestResponse::setUpdatedAt);
+    }
+
+    private static <E> Specification<E> requestFilter(Status status, Long userId) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (status != null) {
+                predicates.add(cb.equal(root.get("status"), status));
+            }
+            if (userId != null) {
+                predicates.add(cb.equal(root.get("requestedBy"), userId));
             }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
 
-            date = date.plusDays(1);
+    private boolean isEquipmentAvailable(Long equipmentId, Integer requestedQuantity, LocalDate fromDate, LocalDate toDate) {
+        return checkAvailability(equipmentId, requestedQuantity, fromDate, toDate).available();
+    }
+
+    private AvailabilityResult checkAvailability(Long equipmentId, Integer requestedQuantity, LocalDate fromDate, LocalDate toDate) {
+        AvailabilityCheckEvent event = new AvailabilityCheckEvent();
+        event.begin();
+        event.equipmentId = equipmentId;
+        event.itemCount = 1;
+        event.windowDays = windowDays(fromDate, toDate);
+        int statementsBefore = SqlStatementCounter.total();
+
+        int daysScanned = 0;
+        boolean available = false;
+        try {
+            Equipment equipment = equipmentRepository.findById(equipmentId).orElse(null);
+            if (equipment == null) {
+                return new AvailabilityResult(false, daysScanned);
+            }
+
+            // One grouped query for the whole window; the request must fit on its most booked day
+            daysScanned = windowDays(fromDate, toDate);
+            int peakBooked = 0;
+            for (Object[] row : equipmentBookingRepository.sumBookedQuantityByDate(equipmentId, fromDate, toDate)) {
+                peakBooked = Math.max(peakBooked, ((Number) row[1]).intValue());
+            }
+
+            available = equipment.getTotalQuantity() - peakBooked >= requestedQuantity;
+            return new AvailabilityResult(available, daysScanned);
+        } finally {
+            lendingMetrics.recordAvailabilityDaysScanned(daysScanned);
+            // Measured: the equipment lookup issues no SQL when the item is already in the persistence context
+            event.queryCount = SqlStatementCounter.total() - statementsBefore;
+            event.available = available;
+            event.commit();
         }
+    }
 
-        return true;
+    private static int windowDays(LocalDate fromDate, LocalDate toDate) {
+        return (int) ChronoUnit.DAYS.between(fromDate, toDate) + 1;
     }
 
-    private void createBookingEntries(BorrowRequest borrowRequest) {
-        LocalDate date = borrowRequest.getFromDate();
-        while (!date.isAfter(borrowRequest.getToDate())) {
-            EquipmentBooking booking = new EquipmentBooking();
-            booking.setBorrowRequest(borrowRequest);
-            booking.setEquipment(borrowRequest.getEquipment());
-            booking.setBookingDate(date);
-            booking.setQuantity(borrowRequest.getQuantity());
-            booking.setStatus(EquipmentBooking.Status.ACTIVE);
+    /**
+     * Checks several items over one date range with a single grouped booking query, instead of
+     * one SUM per item and day. Each item must fit on its most booked day.
+     */
+    private boolean isCartAvailable(Map<Long, Equipment> equipment, Map<Long, Integer> requestedQuantities,
+                                    LocalDate fromDate, LocalDate toDate) {
+        AvailabilityCheckEvent event = new AvailabilityCheckEvent();
+        event.begin();
+        event.itemCount = requestedQuantities.size();
+        event.windowDays = windowDays(fromDate, toDate);
+        int statementsBefore = SqlStatementCounter.total();
+        try {
+            Map<Long, Integer> peakBooked = new HashMap<>();
+            for (Object[] row : equipmentBookingRepository.sumBookedQuantityByEquipmentAndDate(
+                    requestedQuantities.keySet(), fromDate, toDate)) {
+                peakBooked.merge((Long) row[0], ((Number) row[2]).intValue(), Math::max);
+            }
+
+            event.available = requestedQuantities.entrySet().stream().allMatch(requested ->
+                equipment.get(requested.getKey()).getTotalQuantity()
+                    - peakBooked.getOrDefault(requested.getKey(), 0) >= requested.getValue());
+            return event.available;
+        } finally {
+            lendingMetrics.recordAvailabilityDaysScanned(event.itemCount * event.windowDays);
+            event.queryCount = SqlStatementCounter.total() - statementsBefore;
+            event.commit();
+        }
+    }
 
-            equipmentBookingRepository.save(booking);
-            date = date.plusDays(1);
+    // One row per request and day, sent as a single JDBC batch; IDENTITY keys keep Hibernate from batching them
+    private int createBookingEntries(List<BorrowRequest> borrowRequests) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> rows = new ArrayList<>();
+        for (BorrowRequest borrowRequest : borrowRequests) {
+            LocalDate date = borrowRequest.getFromDate();
+            while (!date.isAfter(borrowRequest.getToDate())) {
+                rows.add(new Object[]{
+                    borrowRequest.getRequestId(),
+                    borrowRequest.getEquipment().getEquipmentId(),
+                    date,
+                    borrowRequest.getQuantity(),
+                    EquipmentBooking.Status.ACTIVE.name(),
+                    now,
+                    now
+                });
+                date = date.plusDays(1);
+            }
         }
+        jdbcTemplate.batchUpdate(INSERT_BOOKING, rows);
+        lendingMetrics.recordBookingRowsWritten(rows.size());
+        return rows.size();
     }
 
+    private BorrowRequestResponse publishEvent(BorrowRequestEventType type, Status previousStatus,
+                                               BorrowRequest borrowRequest) {
+        BorrowRequestResponse response = mapToResponse(borrowRequest);
+        eventPublisher.publishEvent(new BorrowRequestEvent(
+            type,
+            previousStatus,
+            response,
+            borrowRequest.getCart() != null ? borrowRequest.getCart().getCartId() : null,
+            userProfileCache.get(response.getUserId()).email(),
+            LocalDateTime.now()
+        ));
+        return response;
+    }
+
+    private CartResponse publishCartEvent(BorrowRequestEventType type, CartResponse cart) {
+        eventPublisher.publishEvent(new CartEvent(
+            type,
+            cart,
+            userProfileCache.get(cart.getUserId()).email(),
+            LocalDateTime.now()
+        ));
+        return cart;
+    }
+
+    // User names come from the profile cache, so user references set by the write paths stay uninitialized
     private BorrowRequestResponse mapToResponse(BorrowRequest borrowRequest) {
+        UserProfile requester = userProfileCache.get(borrowRequest.getRequestedBy().getUserId());
+        UserProfile approver = borrowRequest.getApprovedBy() != null
+            ? userProfileCache.get(borrowRequest.getApprovedBy().getUserId()) : null;
         return new BorrowRequestResponse(
             borrowRequest.getRequestId(),
             borrowRequest.getEquipment().getEquipmentId(),
             borrowRequest.getEquipment().getName(),
-            borrowRequest.getRequestedBy().getUserId(),
-            borrowRequest.getRequestedBy().getFullName(),
+            requester.userId(),
+            requester.fullName(),
             borrowRequest.getQuantity(),
             borrowRequest.getFromDate(),
             borrowRequest.getToDate(),
@@ -232,9 +707,66 @@ public class BorrowRequestService {
             borrowRequest.getStatus(),
             borrowRequest.getRemarks(),
             borrowRequest.getConditionAfterUse(),
-            borrowRequest.getApprovedBy() != null ? borrowRequest.getApprovedBy().getFullName() : null,
-            borrowRequest.getCreatedAt() != null ? borrowRequest.getCreatedAt().toString() : null,
-            borrowRequest.getUpdatedAt() != null ? borrowRequest.getUpdatedAt().toString() : null
+            approver != null ? approver.fullName() : null,
+            borrowRequest.getCreatedAt(),
+            borrowRequest.getUpdatedAt()
         );
     }
+
+    private CartResponse mapToResponse(BorrowCart cart, List<BorrowRequestResponse> lines) {
+        return new CartResponse(
+            cart.getCartId(),
+            cart.getRequestedBy().getUserId(),
+            cart.getFromDate(),
+            cart.getToDate(),
+            cart.getReason(),
+            cart.getCreatedAt(),
+            lines
+        );
+    }
+
+    private BorrowRequestResponse mapToResponse(BorrowRequestView view) {
+        return new BorrowRequestResponse(
+            view.getRequestId(),
+            view.getEquipmentId(),
+            view.getEquipmentName(),
+            view.getRequestedBy(),
+            view.getRequesterName(),
+            view.getQuantity(),
+            view.getFromDate(),
+            view.getToDate(),
+            view.getReturnDate(),
+            view.getReason(),
+            view.getStatus(),
+            view.getRemarks(),
+            view.getConditionAfterUse(),
+            view.getApproverName(),
+            view.getCreatedAt(),
+            view.getUpdatedAt()
+        );
+    }
+
+    private BorrowRequestResponse mapToResponse(BorrowRequestArchive archived) {
+        return new BorrowRequestResponse(
+            archived.getRequestId(),
+            archived.getEquipmentId(),
+            archived.getEquipmentName(),
+            archived.getRequestedBy(),
+            archived.getRequesterName(),
+            archived.getQuantity(),
+            archived.getFromDate(),
+            archived.getToDate(),
+            archived.getReturnDate(),
+            archived.getReason(),
+            archived.getStatus(),
+            archived.getRemarks(),
+            archived.getConditionAfterUse(),
+            archived.getApproverName(),
+            archived.getCreatedAt(),
+            archived.getUpdatedAt()
+        );
+    }
+
+    private record AvailabilityResult(boolean available, int daysScanned) {
+    }
 }
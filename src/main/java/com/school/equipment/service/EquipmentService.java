@@ -1,31 +1,113 @@
 package com.school.equipment.service;
 
+import com.school.equipment.dto.batch.BatchGetItem;
+import com.school.equipment.dto.batch.BatchGetRequest;
+import com.school.equipment.dto.equipment.AvailabilityCalendarResponse;
+import com.school.equipment.dto.equipment.DayAvailability;
 import com.school.equipment.dto.equipment.EquipmentCreateRequest;
 import com.school.equipment.dto.equipment.EquipmentCreateResponse;
 import com.school.equipment.dto.equipment.EquipmentResponse;
 import com.school.equipment.dto.equipment.EquipmentUpdateRequest;
 import com.school.equipment.entity.Equipment;
 import com.school.equipment.entity.User;
+import com.school.equipment.event.EquipmentEvent;
+import com.school.equipment.event.EquipmentEventType;
+import com.school.equipment.fields.FieldSelection;
+import com.school.equipment.fields.SparseProjection;
+import com.school.equipment.repository.EquipmentBookingRepository;
 import com.school.equipment.repository.EquipmentRepository;
 import com.school.equipment.repository.UserRepository;
+import com.school.equipment.singleflight.SingleFlight;
+import com.school.equipment.user.UserProfileCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
 public class EquipmentService {
 
+    private static final int MAX_CALENDAR_DAYS = 92;
+
+    // The creator is joined only when createdBy is selected
+    private static final SparseProjection<Equipment, EquipmentResponse> EQUIPMENT_FIELDS =
+        new SparseProjection<>(Equipment.class, EquipmentResponse::new)
+            .field("equipmentId", "equipmentId", EquipmentResponse::setEquipmentId)
+            .field("name", "name", EquipmentResponse::setName)
+            .field("category", "category", EquipmentResponse::setCategory)
+            .field("conditionStatus", "conditionStatus", EquipmentResponse::setConditionStatus)
+            .field("totalQuantity", "totalQuantity", EquipmentResponse::setTotalQuantity)
+            .field("availableQuantity", "availableQuantity", EquipmentResponse::setAvailableQuantity)
+            .field("availability", "availability", EquipmentResponse::setAvailability)
+            .field("description", "description", EquipmentResponse::setDescription)
+            .field("createdBy", root -> root.join("createdBy", JoinType.LEFT).get("fullName"),
+                EquipmentResponse::setCreatedBy)
+            .field("createdAt", "createdAt", EquipmentResponse::setCreatedAt)
+            .field("updatedAt", "updatedAt", EquipmentResponse::setUpdatedAt);
+
     @Autowired
     private EquipmentRepository equipmentRepository;
 
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private UserProfileCache userProfileCache;
+
+    @Autowired
+    private EquipmentBookingRepository equipmentBookingRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Hot items get hundreds of identical reads at once; these share one DB call per key
+    private SingleFlight<Long, EquipmentResponse> equipmentLoads;
+
+    private SingleFlight<CalendarKey, AvailabilityCalendarResponse> calendarLoads;
+
+    private TransactionTemplate readOnlyTransaction;
+
+    @PostConstruct
+    void initSingleFlight() {
+        equipmentLoads = new SingleFlight<>("equipment", meterRegistry);
+        calendarLoads = new SingleFlight<>("availability-calendar", meterRegistry);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    @Transactional
     public EquipmentCreateResponse createEquipment(EquipmentCreateRequest request, Long createdByUserId) {
-        User createdBy = userRepository.findById(createdByUserId)
-            .orElseThrow(() -> new RuntimeException("User not found"));
+        if (!userProfileCache.exists(createdByUserId)) {
+            throw new RuntimeException("User not found");
+        }
+        User createdBy = userRepository.getReferenceById(createdByUserId);
 
         Equipment equipment = new Equipment();
         equipment.setName(request.getName());
@@ -38,6 +120,8 @@ public class EquipmentService {
         equipment.setCreatedBy(createdBy);
 
         Equipment savedEquipment = equipmentRepository.save(equipment);
+        eventPublisher.publishEvent(new EquipmentEvent(EquipmentEventType.CREATED, savedEquipment.getEquipmentId(),
+            savedEquipment.getName(), null, null, savedEquipment.getCategory(), savedEquipment.getTotalQuantity()));
 
         return new EquipmentCreateResponse(
             savedEquipment.getEquipmentId(),
@@ -45,9 +129,12 @@ public class EquipmentService {
         );
     }
 
+    @Transactional
     public EquipmentResponse updateEquipment(Long equipmentId, EquipmentUpdateRequest request) {
-        Equipment equipment = equipmentRepository.findById(equipmentId)
+        Equipment equipment = equipmentRepository.findWithCreatorByEquipmentId(equipmentId)
             .orElseThrow(() -> new RuntimeException("Equipment not found"));
+        String previousCategory = equipment.getCategory();
+        Integer previousTotalQuantity = equipment.getTotalQuantity();
 
         if (request.getName() != null) {
             equipment.setName(request.getName());
@@ -69,23 +156,66 @@ public class EquipmentService {
         }
 
         Equipment savedEquipment = equipmentRepository.save(equipment);
+        eventPublisher.publishEvent(new EquipmentEvent(EquipmentEventType.UPDATED, equipmentId,
+            savedEquipment.getName(), previousCategory, previousTotalQuantity, savedEquipment.getCategory(), savedEquipment.getTotalQuantity()));
         return mapToResponse(savedEquipment);
     }
 
+    @Transactional
     public void deleteEquipment(Long equipmentId) {
-        if (!equipmentRepository.existsById(equipmentId)) {
-            throw new RuntimeException("Equipment not found");
-        }
-        equipmentRepository.deleteById(equipmentId);
+        Equipment equipment = equipmentRepository.findById(equipmentId)
+            .orElseThrow(() -> new RuntimeException("Equipment not found"));
+        equipmentRepository.delete(equipment);
+        eventPublisher.publishEvent(new EquipmentEvent(EquipmentEventType.DELETED, equipmentId,
+            equipment.getName(), equipment.getCategory(), equipment.getTotalQuantity(), equipment.getCategory(), equipment.getTotalQuantity()));
     }
 
+    // Not @Transactional: waiting callers must not hold a connection, only the loader opens one
     public EquipmentResponse getEquipmentById(Long equipmentId) {
-        Equipment equipment = equipmentRepository.findById(equipmentId)
-            .orElseThrow(() -> new RuntimeException("Equipment not found"));
-        return mapToResponse(equipment);
+        return equipmentLoads.execute(equipmentId, () -> readOnlyTransaction.execute(status -> {
+            Equipment equipment = equipmentRepository.findWithCreatorByEquipmentId(equipmentId)
+                .orElseThrow(() -> new RuntimeException("Equipment not found"));
+            return mapToResponse(equipment);
+        }));
+    }
+
+    /**
+     * Loads the given items with one IN query and returns one entry per requested id, in
+     * request order, marking ids that do not exist.
+     */
+    @Transactional(readOnly = true)
+    public List<BatchGetItem<EquipmentResponse>> getEquipmentByIds(List<Long> equipmentIds) {
+        if (equipmentIds.size() > BatchGetRequest.MAX_IDS) {
+            throw new RuntimeException("At most " + BatchGetRequest.MAX_IDS + " ids can be fetched at once");
+        }
+        Map<Long, EquipmentResponse> found = new HashMap<>();
+        for (Equipment equipment : equipmentRepository.findWithCreatorByEquipmentIdIn(new HashSet<>(equipmentIds))) {
+            found.put(equipment.getEquipmentId(), mapToResponse(equipment));
+        }
+        return equipmentIds.stream()
+            .map(id -> BatchGetItem.of(id, found.get(id)))
+            .collect(Collectors.toList());
     }
 
-    public List<EquipmentResponse> getAllEquipment(String category, Boolean availableOnly, String search) {
+    public AvailabilityCalendarResponse getAvailabilityCalendar(Long equipmentId, LocalDate fromDate, LocalDate toDate) {
+        if (fromDate.isAfter(toDate)) {
+            throw new RuntimeException("From date cannot be after to date");
+        }
+        if (ChronoUnit.DAYS.between(fromDate, toDate) >= MAX_CALENDAR_DAYS) {
+            throw new RuntimeException("Availability calendar is limited to " + MAX_CALENDAR_DAYS + " days");
+        }
+        CalendarKey key = new CalendarKey(equipmentId, fromDate, toDate);
+        return calendarLoads.execute(key, () -> readOnlyTransaction.execute(status -> loadCalendar(key)));
+    }
+
+    @Transactional(readOnly = true)
+    public List<EquipmentResponse> getAllEquipment(String category, Boolean availableOnly, String search,
+                                                   FieldSelection fields) {
+        if (!fields.isAll()) {
+            return EQUIPMENT_FIELDS.list(entityManager, fields,
+                equipmentFilter(category, availableOnly != null && availableOnly, search), "equipmentId");
+        }
+
         List<Equipment> equipmentList = equipmentRepository.findEquipmentWithFilters(
             category,
             availableOnly != null ? availableOnly : false,
@@ -97,6 +227,41 @@ public class EquipmentService {
             .collect(Collectors.toList());
     }
 
+    // Same conditions as EquipmentRepository.findEquipmentWithFilters, for sparse fieldsets
+    private static Specification<Equipment> equipmentFilter(String category, boolean availableOnly, String search) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (category != null) {
+                predicates.add(cb.equal(root.get("category"), category));
+            }
+            if (availableOnly) {
+                predicates.add(cb.greaterThan(root.<Integer>get("availableQuantity"), 0));
+            }
+            if (search != null) {
+                predicates.add(cb.like(cb.lower(root.<String>get("name")), "%" + search.toLowerCase() + "%"));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    private AvailabilityCalendarResponse loadCalendar(CalendarKey key) {
+        Equipment equipment = equipmentRepository.findById(key.equipmentId())
+            .orElseThrow(() -> new RuntimeException("Equipment not found"));
+
+        Map<LocalDate, Integer> bookedByDate = new HashMap<>();
+        for (Object[] row : equipmentBookingRepository.sumBookedQuantityByDate(
+                key.equipmentId(), key.fromDate(), key.toDate())) {
+            bookedByDate.put((LocalDate) row[0], ((Number) row[1]).intValue());
+        }
+
+        List<DayAvailability> days = new ArrayList<>();
+        for (LocalDate date = key.fromDate(); !date.isAfter(key.toDate()); date = date.plusDays(1)) {
+            int booked = bookedByDate.getOrDefault(date, 0);
+            days.add(new DayAvailability(date, booked, Math.max(0, equipment.getTotalQuantity() - booked)));
+        }
+        return new AvailabilityCalendarResponse(equipment.getEquipmentId(), equipment.getTotalQuantity(), days);
+    }
+
     private EquipmentResponse mapToResponse(Equipment equipment) {
         return new EquipmentResponse(
             equipment.getEquipmentId(),
@@ -108,8 +273,11 @@ public class EquipmentService {
             equipment.getAvailability(),
             equipment.getDescription(),
             equipment.getCreatedBy() != null ? equipment.getCreatedBy().getFullName() : null,
-            equipment.getCreatedAt() != null ? equipment.getCreatedAt().toString() : null,
-            equipment.getUpdatedAt() != null ? equipment.getUpdatedAt().toString() : null
+            equipment.getCreatedAt(),
+            equipment.getUpdatedAt()
         );
     }
+
+    private record CalendarKey(Long equipmentId, LocalDate fromDate, LocalDate toDate) {
+    }
 }
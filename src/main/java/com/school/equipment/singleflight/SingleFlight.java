@@ -0,0 +1,73 @@
+package com.school.equipment.singleflight;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Collapses concurrent calls with the same key into one: the first caller runs the loader
+ * and every caller that arrives while it is running gets the same result or exception.
+ * Nothing is cached; once the call finishes the next caller loads again.
+ *
+ * <p>Call it outside any transaction. The loader should open its own, so callers waiting
+ * on a result do not hold a pooled connection. The shared result must be treated as
+ * read-only.
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    private final Counter leaders;
+
+    private final Counter followers;
+
+    public SingleFlight(String name, MeterRegistry registry) {
+        this.leaders = Counter.builder("lending.singleflight.calls")
+                .tag("name", name)
+                .tag("role", "leader")
+                .register(registry);
+        this.followers = Counter.builder("lending.singleflight.calls")
+                .tag("name", name)
+                .tag("role", "follower")
+                .register(registry);
+    }
+
+    public V execute(K key, Supplier<V> loader) {
+        CompletableFuture<V> future = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, future);
+        if (existing != null) {
+            followers.increment();
+            return join(existing);
+        }
+
+        leaders.increment();
+        try {
+            V value = loader.get();
+            future.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    private static <V> V join(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
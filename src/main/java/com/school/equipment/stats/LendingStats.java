@@ -0,0 +1,249 @@
+package com.school.equipment.stats;
+
+import com.school.equipment.dto.borrow.BorrowRequestResponse;
+import com.school.equipment.dto.stats.CategoryUsage;
+import com.school.equipment.dto.stats.StatsSummaryResponse;
+import com.school.equipment.entity.Status;
+import com.school.equipment.event.BorrowRequestEvent;
+import com.school.equipment.event.EquipmentEvent;
+import com.school.equipment.event.EquipmentEventType;
+import com.school.equipment.repository.BorrowRequestArchiveRepository;
+import com.school.equipment.repository.BorrowRequestRepository;
+import com.school.equipment.repository.EquipmentRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Dashboard aggregates kept in memory: request counts by status (live and archived),
+ * capacity and units out per category, and pending request age. Every committed transition
+ * adjusts them in O(1), so the summary never scans a table.
+ *
+ * <p>The counters are rebuilt from the database at startup and every
+ * {@code app.stats.reconcile-interval}. A transition that commits while a rebuild is reading
+ * can be counted twice or missed; the next rebuild corrects it.
+ */
+@Slf4j
+@Component
+public class LendingStats {
+
+    private final BorrowRequestRepository borrowRequestRepository;
+
+    private final BorrowRequestArchiveRepository borrowRequestArchiveRepository;
+
+    private final EquipmentRepository equipmentRepository;
+
+    private final TransactionTemplate reconcileTransaction;
+
+    private final Map<Status, Long> requestsByStatus = new EnumMap<>(Status.class);
+
+    private final Map<Long, String> categoryByEquipment = new HashMap<>();
+
+    private final Map<Long, Long> unitsOutByEquipment = new HashMap<>();
+
+    // category -> [total units, units out]
+    private final Map<String, long[]> unitsByCategory = new TreeMap<>();
+
+    // requestId -> creation time in epoch seconds; request ids follow creation order
+    private final TreeMap<Long, Long> pendingCreatedAt = new TreeMap<>();
+
+    private long pendingCreatedAtSum;
+
+    private LocalDateTime reconciledAt;
+
+    public LendingStats(BorrowRequestRepository borrowRequestRepository,
+                        BorrowRequestArchiveRepository borrowRequestArchiveRepository,
+                        EquipmentRepository equipmentRepository,
+                        PlatformTransactionManager transactionManager) {
+        this.borrowRequestRepository = borrowRequestRepository;
+        this.borrowRequestArchiveRepository = borrowRequestArchiveRepository;
+        this.equipmentRepository = equipmentRepository;
+        // Also called from after-commit listeners, where the finished transaction is still bound
+        this.reconcileTransaction = new TransactionTemplate(transactionManager);
+        this.reconcileTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.reconcileTransaction.setReadOnly(true);
+    }
+
+    @TransactionalEventListener
+    public synchronized void onBorrowRequestEvent(BorrowRequestEvent event) {
+        BorrowRequestResponse request = event.getRequest();
+        Status previous = event.getPreviousStatus();
+        Status current = request.getStatus();
+        if (previous == current) {
+            return;
+        }
+
+        if (previous != null) {
+            requestsByStatus.merge(previous, -1L, Long::sum);
+        }
+        requestsByStatus.merge(current, 1L, Long::sum);
+
+        if (current == Status.PENDING) {
+            addPending(request.getRequestId(), request.getCreatedAt() != null
+                    ? request.getCreatedAt() : LocalDateTime.now());
+        } else if (previous == Status.PENDING) {
+            removePending(request.getRequestId());
+        }
+
+        long unitsOutDelta = (isOut(current) ? request.getQuantity() : 0) - (isOut(previous) ? request.getQuantity() : 0);
+        if (unitsOutDelta != 0) {
+            addUnitsOut(request.getEquipmentId(), unitsOutDelta);
+        }
+    }
+
+    @TransactionalEventListener
+    public void onEquipmentEvent(EquipmentEvent event) {
+        if (event.getType() == EquipmentEventType.DELETED) {
+            // Deleting an item cascades to its requests, which publish no events
+            reconcile();
+            return;
+        }
+        synchronized (this) {
+            if (event.getPreviousCategory() != null) {
+                category(event.getPreviousCategory())[0] -= event.getPreviousTotalQuantity();
+            }
+            category(event.getCategory())[0] += event.getTotalQuantity();
+
+            long unitsOut = unitsOutByEquipment.getOrDefault(event.getEquipmentId(), 0L);
+            if (event.getPreviousCategory() != null && unitsOut != 0) {
+                category(event.getPreviousCategory())[1] -= unitsOut;
+                category(event.getCategory())[1] += unitsOut;
+            }
+            categoryByEquipment.put(event.getEquipmentId(), event.getCategory());
+        }
+    }
+
+    public synchronized long pendingCount() {
+        return requestsByStatus.getOrDefault(Status.PENDING, 0L);
+    }
+
+    public synchronized StatsSummaryResponse summary() {
+        Map<Status, Long> byStatus = new EnumMap<>(Status.class);
+        for (Status status : Status.values()) {
+            byStatus.put(status, requestsByStatus.getOrDefault(status, 0L));
+        }
+
+        List<CategoryUsage> categories = new ArrayList<>();
+        unitsByCategory.forEach((category, units) -> categories.add(new CategoryUsage(category, units[0], units[1])));
+
+        long now = epochSeconds(LocalDateTime.now());
+        Long oldestAge = null;
+        Long averageAge = null;
+        String oldestSince = null;
+        if (!pendingCreatedAt.isEmpty()) {
+            long oldest = pendingCreatedAt.firstEntry().getValue();
+            oldestAge = now - oldest;
+            oldestSince = LocalDateTime.ofInstant(Instant.ofEpochSecond(oldest), ZoneId.systemDefault()).toString();
+            averageAge = now - pendingCreatedAtSum / pendingCreatedAt.size();
+        }
+
+        return new StatsSummaryResponse(byStatus, categories, (long) pendingCreatedAt.size(),
+                oldestSince, oldestAge, averageAge, reconciledAt != null ? reconciledAt.toString() : null);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.stats.reconcile-interval:300000}",
+            initialDelayString = "${app.stats.reconcile-interval:300000}")
+    public void reconcile() {
+        Snapshot snapshot = reconcileTransaction.execute(status -> load());
+        synchronized (this) {
+            requestsByStatus.clear();
+            requestsByStatus.putAll(snapshot.requestsByStatus);
+            categoryByEquipment.clear();
+            categoryByEquipment.putAll(snapshot.categoryByEquipment);
+            unitsOutByEquipment.clear();
+            unitsByCategory.clear();
+            snapshot.capacityByEquipment.forEach((equipmentId, capacity) ->
+                    category(snapshot.categoryByEquipment.get(equipmentId))[0] += capacity);
+            snapshot.unitsOutByEquipment.forEach(this::addUnitsOut);
+            pendingCreatedAt.clear();
+            pendingCreatedAtSum = 0;
+            snapshot.pendingCreatedAt.forEach(this::addPending);
+            reconciledAt = LocalDateTime.now();
+        }
+        log.debug("Reconciled lending stats: {}", snapshot.requestsByStatus);
+    }
+
+    private Snapshot load() {
+        Snapshot snapshot = new Snapshot();
+        for (Object[] row : borrowRequestRepository.countGroupedByStatus()) {
+            snapshot.requestsByStatus.merge((Status) row[0], ((Number) row[1]).longValue(), Long::sum);
+        }
+        for (Object[] row : borrowRequestArchiveRepository.countGroupedByStatus()) {
+            snapshot.requestsByStatus.merge((Status) row[0], ((Number) row[1]).longValue(), Long::sum);
+        }
+        for (Object[] row : equipmentRepository.findCategoryAndCapacity()) {
+            snapshot.categoryByEquipment.put((Long) row[0], (String) row[1]);
+            snapshot.capacityByEquipment.put((Long) row[0], ((Number) row[2]).longValue());
+        }
+        for (Object[] row : borrowRequestRepository.sumUnitsOutByEquipment()) {
+            snapshot.unitsOutByEquipment.put((Long) row[0], ((Number) row[1]).longValue());
+        }
+        for (Object[] row : borrowRequestRepository.findPendingCreatedAt()) {
+            snapshot.pendingCreatedAt.put((Long) row[0], row[1] != null ? (LocalDateTime) row[1] : LocalDateTime.now());
+        }
+        return snapshot;
+    }
+
+    private void addUnitsOut(Long equipmentId, long units) {
+        unitsOutByEquipment.merge(equipmentId, units, Long::sum);
+        String category = categoryByEquipment.get(equipmentId);
+        if (category != null) {
+            category(category)[1] += units;
+        }
+    }
+
+    private void addPending(Long requestId, LocalDateTime createdAt) {
+        long epochSeconds = epochSeconds(createdAt);
+        Long previous = pendingCreatedAt.put(requestId, epochSeconds);
+        pendingCreatedAtSum += epochSeconds - (previous != null ? previous : 0);
+    }
+
+    private void removePending(Long requestId) {
+        Long epochSeconds = pendingCreatedAt.remove(requestId);
+        if (epochSeconds != null) {
+            pendingCreatedAtSum -= epochSeconds;
+        }
+    }
+
+    private long[] category(String category) {
+        return unitsByCategory.computeIfAbsent(category, c -> new long[2]);
+    }
+
+    private static boolean isOut(Status status) {
+        return status == Status.APPROVED || status == Status.OVERDUE;
+    }
+
+    private static long epochSeconds(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toEpochSecond();
+    }
+
+    private static final class Snapshot {
+
+        private final Map<Status, Long> requestsByStatus = new EnumMap<>(Status.class);
+
+        private final Map<Long, String> categoryByEquipment = new HashMap<>();
+
+        private final Map<Long, Long> capacityByEquipment = new HashMap<>();
+
+        private final Map<Long, Long> unitsOutByEquipment = new HashMap<>();
+
+        private final Map<Long, LocalDateTime> pendingCreatedAt = new HashMap<>();
+    }
+}
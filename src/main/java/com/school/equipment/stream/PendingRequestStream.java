@@ -0,0 +1,231 @@
+package com.school.equipment.stream;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.school.equipment.dto.borrow.BorrowRequestResponse;
+import com.school.equipment.event.BorrowRequestEvent;
+import com.school.equipment.event.BorrowRequestEventType;
+import com.school.equipment.service.BorrowRequestService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fan-out of pending-queue changes to staff dashboards over Server-Sent Events.
+ *
+ * <p>A new subscriber gets a {@code snapshot} of all pending requests followed by
+ * {@code created}, {@code approved}, {@code rejected} and {@code ready_for_approval} events.
+ * Clients should upsert or remove by {@code requestId}, since an event committed while the
+ * snapshot was loading may also be part of the snapshot.
+ *
+ * <p>Committed events are serialized once and offered to a bounded queue per subscriber;
+ * the publishing thread never touches a socket. A small sender pool drains the queues. A
+ * subscriber whose queue overflows gets a {@code resync} event and is disconnected, and
+ * its EventSource reconnects to a fresh snapshot.
+ */
+@Slf4j
+@Component
+public class PendingRequestStream {
+
+    private static final Set<BorrowRequestEventType> STREAMED_TYPES = Set.of(
+            BorrowRequestEventType.CREATED, BorrowRequestEventType.APPROVED, BorrowRequestEventType.REJECTED,
+            BorrowRequestEventType.READY_FOR_APPROVAL);
+
+    private final BorrowRequestService borrowRequestService;
+
+    private final ObjectMapper objectMapper;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private final ExecutorService senders;
+
+    private final Counter droppedSubscribers;
+
+    private final int queueCapacity;
+
+    private final long timeoutMillis;
+
+    public PendingRequestStream(BorrowRequestService borrowRequestService, ObjectMapper objectMapper,
+                                MeterRegistry registry,
+                                @Value("${app.requests.stream.queue-capacity:256}") int queueCapacity,
+                                @Value("${app.requests.stream.sender-threads:4}") int senderThreads,
+                                @Value("${app.requests.stream.timeout:30m}") Duration timeout) {
+        this.borrowRequestService = borrowRequestService;
+        this.objectMapper = objectMapper;
+        this.queueCapacity = queueCapacity;
+        this.timeoutMillis = timeout.toMillis();
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.senders = Executors.newFixedThreadPool(senderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "pending-stream-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        Gauge.builder("lending.requests.stream.subscribers", subscribers, Set::size)
+                .description("Connected pending-queue SSE subscribers")
+                .register(registry);
+        this.droppedSubscribers = Counter.builder("lending.requests.stream.dropped")
+                .description("SSE subscribers disconnected because they fell behind")
+                .register(registry);
+    }
+
+    public SseEmitter subscribe() {
+        Subscriber subscriber = new Subscriber(new SseEmitter(timeoutMillis), queueCapacity);
+        subscriber.emitter.onCompletion(() -> subscribers.remove(subscriber));
+        subscriber.emitter.onTimeout(() -> subscribers.remove(subscriber));
+        subscriber.emitter.onError(error -> subscribers.remove(subscriber));
+
+        // Register before loading the snapshot so no committed change falls in between;
+        // the queue holds those changes until the snapshot has been sent
+        subscribers.add(subscriber);
+        try {
+            List<BorrowRequestResponse> snapshot = borrowRequestService.getPendingRequests();
+            subscriber.emitter.send(SseEmitter.event()
+                    .id(Long.toString(sequence.get()))
+                    .name("snapshot")
+                    .data(toJson(snapshot), MediaType.APPLICATION_JSON));
+        } catch (IOException | RuntimeException e) {
+            subscribers.remove(subscriber);
+            subscriber.emitter.completeWithError(e);
+            return subscriber.emitter;
+        }
+        subscriber.ready.set(true);
+        schedule(subscriber);
+        return subscriber.emitter;
+    }
+
+    @TransactionalEventListener
+    public void onBorrowRequestEvent(BorrowRequestEvent event) {
+        if (!STREAMED_TYPES.contains(event.getType()) || subscribers.isEmpty()) {
+            return;
+        }
+        Message message = new Message(sequence.incrementAndGet(),
+                event.getType().name().toLowerCase(), toJson(event.getRequest()));
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.queue.offer(message)) {
+                schedule(subscriber);
+            } else {
+                drop(subscriber);
+            }
+        }
+    }
+
+    // Keeps idle connections open through proxies that close silent streams
+    @Scheduled(fixedDelayString = "${app.requests.stream.heartbeat-interval:15000}")
+    public void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.queue.offer(Message.HEARTBEAT)) {
+                schedule(subscriber);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        senders.shutdownNow();
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.ready.get() && subscriber.draining.compareAndSet(false, true)) {
+            senders.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            Message message;
+            while ((message = subscriber.queue.poll()) != null) {
+                if (message == Message.HEARTBEAT) {
+                    subscriber.emitter.send(SseEmitter.event().comment("heartbeat"));
+                } else {
+                    subscriber.emitter.send(SseEmitter.event()
+                            .id(Long.toString(message.id()))
+                            .name(message.name())
+                            .data(message.json(), MediaType.APPLICATION_JSON));
+                }
+            }
+        } catch (IOException | IllegalStateException e) {
+            // Client went away; the emitter callbacks remove it
+            subscribers.remove(subscriber);
+            subscriber.queue.clear();
+            return;
+        } finally {
+            subscriber.draining.set(false);
+        }
+        // A message may have arrived after the last poll but before the flag was cleared
+        if (!subscriber.queue.isEmpty()) {
+            schedule(subscriber);
+        }
+    }
+
+    private void drop(Subscriber subscriber) {
+        if (!subscribers.remove(subscriber)) {
+            return;
+        }
+        droppedSubscribers.increment();
+        log.warn("Disconnecting slow pending-stream subscriber after {} queued events", queueCapacity);
+        subscriber.queue.clear();
+        senders.execute(() -> {
+            try {
+                subscriber.emitter.send(SseEmitter.event().name("resync").data("{}", MediaType.APPLICATION_JSON));
+                subscriber.emitter.complete();
+            } catch (IOException | IllegalStateException e) {
+                subscriber.emitter.completeWithError(e);
+            }
+        });
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Could not serialize pending stream event", e);
+        }
+    }
+
+    private static final class Subscriber {
+
+        private final SseEmitter emitter;
+
+        private final Queue<Message> queue;
+
+        private final AtomicBoolean ready = new AtomicBoolean();
+
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        private Subscriber(SseEmitter emitter, int queueCapacity) {
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        }
+    }
+
+    private record Message(long id, String name, String json) {
+
+        private static final Message HEARTBEAT = new Message(0, "heartbeat", null);
+    }
+}
@@ -0,0 +1,14 @@
+package com.school.equipment.term;
+
+import java.time.LocalDate;
+
+/**
+ * A term as {@code [start, end)}. Ids look like {@code 2025-2}: the year the term starts in
+ * and its position among that year's configured start dates.
+ */
+public record AcademicTerm(String id, LocalDate start, LocalDate end) {
+
+    public boolean contains(LocalDate date) {
+        return !date.isBefore(start) && date.isBefore(end);
+    }
+}
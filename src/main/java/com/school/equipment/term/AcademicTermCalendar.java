@@ -0,0 +1,69 @@
+package com.school.equipment.term;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.MonthDay;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Maps dates to academic terms using the yearly term start dates in
+ * {@code app.academic-terms.start-dates} (MM-dd, comma separated). A request belongs to the
+ * term its fromDate falls in.
+ */
+@Component
+public class AcademicTermCalendar {
+
+    private final List<MonthDay> startDates;
+
+    public AcademicTermCalendar(@Value("${app.academic-terms.start-dates:01-15,08-20}") String startDates) {
+        DateTimeFormatter format = DateTimeFormatter.ofPattern("MM-dd");
+        this.startDates = Arrays.stream(startDates.split(","))
+                .map(value -> MonthDay.parse(value.trim(), format))
+                .sorted()
+                .toList();
+        if (this.startDates.isEmpty()) {
+            throw new IllegalStateException("app.academic-terms.start-dates must not be empty");
+        }
+    }
+
+    public AcademicTerm current() {
+        return termOf(LocalDate.now());
+    }
+
+    public AcademicTerm termOf(LocalDate date) {
+        int year = date.getYear();
+        for (int i = startDates.size() - 1; i >= 0; i--) {
+            if (!date.isBefore(startDates.get(i).atYear(year))) {
+                return term(year, i);
+            }
+        }
+        // Before the first start date of the year: still in last year's final term
+        return term(year - 1, startDates.size() - 1);
+    }
+
+    public AcademicTerm parse(String id) {
+        String[] parts = id.split("-");
+        try {
+            int year = Integer.parseInt(parts[0]);
+            int index = Integer.parseInt(parts[1]) - 1;
+            if (parts.length != 2 || index < 0 || index >= startDates.size()) {
+                throw new RuntimeException("Unknown term: " + id);
+            }
+            return term(year, index);
+        } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+            throw new RuntimeException("Invalid term: " + id);
+        }
+    }
+
+    private AcademicTerm term(int year, int index) {
+        LocalDate start = startDates.get(index).atYear(year);
+        LocalDate end = index + 1 < startDates.size()
+                ? startDates.get(index + 1).atYear(year)
+                : startDates.get(0).atYear(year + 1);
+        return new AcademicTerm(year + "-" + (index + 1), start, end);
+    }
+}
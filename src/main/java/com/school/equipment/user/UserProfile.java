@@ -0,0 +1,10 @@
+package com.school.equipment.user;
+
+import com.school.equipment.entity.Role;
+
+/**
+ * The parts of a user that request handling needs: enough to check the user exists and to
+ * fill names and notification addresses without loading the entity.
+ */
+public record UserProfile(Long userId, String fullName, String email, Role role) {
+}
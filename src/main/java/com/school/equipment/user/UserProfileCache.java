@@ -0,0 +1,62 @@
+package com.school.equipment.user;
+
+import com.school.equipment.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Bounded LRU of user profiles keyed by user id. The JWT already identifies the caller, so
+ * services check existence and read names here and attach users to new rows with
+ * {@code getReferenceById}, instead of selecting from users on every write. Entries are
+ * evicted by {@link UserProfileInvalidator} whenever a user row is updated or deleted.
+ */
+@Component
+public class UserProfileCache {
+
+    private final UserRepository userRepository;
+
+    private final Map<Long, UserProfile> profiles;
+
+    public UserProfileCache(UserRepository userRepository,
+                            @Value("${app.user-cache.max-size:10000}") int maxSize) {
+        this.userRepository = userRepository;
+        this.profiles = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, UserProfile> eldest) {
+                return size() > maxSize;
+            }
+        });
+    }
+
+    public Optional<UserProfile> find(Long userId) {
+        if (userId == null) {
+            return Optional.empty();
+        }
+        UserProfile cached = profiles.get(userId);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        // Misses are not cached, so a user created after the lookup is found next time
+        Optional<UserProfile> loaded = userRepository.findById(userId)
+            .map(user -> new UserProfile(user.getUserId(), user.getFullName(), user.getEmail(), user.getRole()));
+        loaded.ifPresent(profile -> profiles.put(userId, profile));
+        return loaded;
+    }
+
+    public UserProfile get(Long userId) {
+        return find(userId).orElseThrow(() -> new RuntimeException("User not found"));
+    }
+
+    public boolean exists(Long userId) {
+        return find(userId).isPresent();
+    }
+
+    public void evict(Long userId) {
+        profiles.remove(userId);
+    }
+}
@@ -0,0 +1,40 @@
+package com.school.equipment.user;
+
+import com.school.equipment.entity.User;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * JPA entity listener on {@link User} that drops the cached profile when the row changes.
+ * The entry is evicted again after the transaction completes, so a concurrent miss that
+ * reloaded the old row before commit does not keep it cached.
+ */
+@Component
+public class UserProfileInvalidator {
+
+    private final UserProfileCache userProfileCache;
+
+    // Lazy: entity listeners are created while the EntityManagerFactory the cache depends on is being built
+    public UserProfileInvalidator(@Lazy UserProfileCache userProfileCache) {
+        this.userProfileCache = userProfileCache;
+    }
+
+    @PostUpdate
+    @PostRemove
+    public void onChange(User user) {
+        Long userId = user.getUserId();
+        userProfileCache.evict(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    userProfileCache.evict(userId);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package com.school.equipment.waitlist;
+
+import com.school.equipment.dto.borrow.ApproveRequest;
+import com.school.equipment.dto.borrow.BorrowRequestResponse;
+import com.school.equipment.entity.Equipment;
+import com.school.equipment.event.BorrowRequestEvent;
+import com.school.equipment.repository.BorrowRequestRepository;
+import com.school.equipment.repository.EquipmentBookingRepository;
+import com.school.equipment.repository.EquipmentRepository;
+import com.school.equipment.service.BorrowRequestService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Per-equipment FIFO of pending requests, kept in memory and rebuilt from borrow_request at
+ * startup. When a return or rejection frees capacity on an item, only that item's queue is
+ * re-evaluated, oldest request first, and requests that now fit are either flagged as ready
+ * for approval or approved outright ({@code app.waitlist.mode}).
+ *
+ * <p>Requests cover different date windows, so a request that still does not fit does not
+ * block younger ones behind it; walking in FIFO order only decides who claims capacity first.
+ * Flags reserve nothing in the database, so in FLAG mode the walk reserves each flagged
+ * request's quantity in memory: a request is only flagged if it fits next to the older flagged
+ * ones. Approvals re-run the walk too, and flags that no longer fit are cleared so a later
+ * release can raise them again. Evaluations run one at a time on a single background thread,
+ * off the staff request path.
+ */
+@Slf4j
+@Component
+public class PendingWaitQueue {
+
+    public enum Mode {
+        FLAG, AUTO_APPROVE
+    }
+
+    private final BorrowRequestRepository borrowRequestRepository;
+
+    private final BorrowRequestService borrowRequestService;
+
+    private final EquipmentRepository equipmentRepository;
+
+    private final EquipmentBookingRepository equipmentBookingRepository;
+
+    private final Mode mode;
+
+    private final Long approverUserId;
+
+    // equipmentId -> requestId -> entry; request ids are issued in creation order
+    private final Map<Long, NavigableMap<Long, WaitQueueEntry>> queues = new ConcurrentHashMap<>();
+
+    // Requests already announced as ready, so repeated releases do not announce them again
+    private final Set<Long> flagged = ConcurrentHashMap.newKeySet();
+
+    private final ExecutorService evaluator = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "wait-queue");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public PendingWaitQueue(BorrowRequestRepository borrowRequestRepository,
+                            BorrowRequestService borrowRequestService,
+                            EquipmentRepository equipmentRepository,
+                            EquipmentBookingRepository equipmentBookingRepository,
+                            @Value("${app.waitlist.mode:FLAG}") Mode mode,
+                            @Value("${app.waitlist.approver-user-id:#{null}}") Long approverUserId) {
+        if (mode == Mode.AUTO_APPROVE && approverUserId == null) {
+            throw new IllegalStateException("app.waitlist.approver-user-id is required when app.waitlist.mode=AUTO_APPROVE");
+        }
+        this.borrowRequestRepository = borrowRequestRepository;
+        this.borrowRequestService = borrowRequestService;
+        this.equipmentRepository = equipmentRepository;
+        this.equipmentBookingRepository = equipmentBookingRepository;
+        this.mode = mode;
+        this.approverUserId = approverUserId;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        int count = 0;
+        for (WaitQueueEntry entry : borrowRequestRepository.findPendingQueueEntries()) {
+            queueFor(entry.equipmentId()).putIfAbsent(entry.requestId(), entry);
+            count++;
+        }
+        log.info("Rebuilt wait queues with {} pending requests across {} items", count, queues.size());
+    }
+
+    @TransactionalEventListener
+    public void onBorrowRequestEvent(BorrowRequestEvent event) {
+        BorrowRequestResponse request = event.getRequest();
+        switch (event.getType()) {
+            case CREATED -> {
+                // Cart lines are approved together with their cart, never one by one
+                if (event.getCartId() == null) {
+                    queueFor(request.getEquipmentId()).put(request.getRequestId(), new WaitQueueEntry(
+                            request.getRequestId(), request.getEquipmentId(), request.getQuantity(),
+                            request.getFromDate(), request.getToDate()));
+                }
+            }
+            case APPROVED -> {
+                remove(request);
+                // The approval consumed capacity that flagged requests may have been counting on
+                if (mode == Mode.FLAG) {
+                    evaluateLater(request.getEquipmentId());
+                }
+            }
+            case REJECTED -> {
+                remove(request);
+                evaluateLater(request.getEquipmentId());
+            }
+            case RETURNED -> evaluateLater(request.getEquipmentId());
+            default -> {
+            }
+        }
+    }
+
+    public int size(Long equipmentId) {
+        NavigableMap<Long, WaitQueueEntry> queue = queues.get(equipmentId);
+        return queue == null ? 0 : queue.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        evaluator.shutdownNow();
+    }
+
+    private void evaluateLater(Long equipmentId) {
+        evaluator.execute(() -> {
+            try {
+                evaluate(equipmentId);
+            } catch (RuntimeException e) {
+                log.warn("Wait queue evaluation failed for equipment {}", equipmentId, e);
+            }
+        });
+    }
+
+    private void evaluate(Long equipmentId) {
+        NavigableMap<Long, WaitQueueEntry> queue = queues.get(equipmentId);
+        if (queue == null || queue.isEmpty()) {
+            return;
+        }
+        if (mode == Mode.FLAG) {
+            flagInOrder(equipmentId, new ArrayList<>(queue.values()));
+            return;
+        }
+        // Weakly consistent iteration: approvals below remove entries through the event listener
+        for (WaitQueueEntry entry : queue.values()) {
+            tryApprove(entry);
+        }
+    }
+
+    private void flagInOrder(Long equipmentId, List<WaitQueueEntry> entries) {
+        Integer totalQuantity = equipmentRepository.findById(equipmentId).map(Equipment::getTotalQuantity).orElse(null);
+        if (totalQuantity == null) {
+            return;
+        }
+
+        // Booked units per day over all queued windows, plus the units of requests flagged during the walk
+        LocalDate fromDate = entries.stream().map(WaitQueueEntry::fromDate).min(Comparator.naturalOrder()).get();
+        LocalDate toDate = entries.stream().map(WaitQueueEntry::toDate).max(Comparator.naturalOrder()).get();
+        Map<LocalDate, Integer> claimed = new HashMap<>();
+        for (Object[] row : equipmentBookingRepository.sumBookedQuantityByDate(equipmentId, fromDate, toDate)) {
+            claimed.put((LocalDate) row[0], ((Number) row[1]).intValue());
+        }
+
+        for (WaitQueueEntry entry : entries) {
+            if (!fits(entry, claimed, totalQuantity)) {
+                flagged.remove(entry.requestId());
+            } else if (flagged.contains(entry.requestId()) || tryFlag(entry)) {
+                for (LocalDate date = entry.fromDate(); !date.isAfter(entry.toDate()); date = date.plusDays(1)) {
+                    claimed.merge(date, entry.quantity(), Integer::sum);
+                }
+            }
+        }
+    }
+
+    private static boolean fits(WaitQueueEntry entry, Map<LocalDate, Integer> claimed, int totalQuantity) {
+        for (LocalDate date = entry.fromDate(); !date.isAfter(entry.toDate()); date = date.plusDays(1)) {
+            if (totalQuantity - claimed.getOrDefault(date, 0) < entry.quantity()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void tryApprove(WaitQueueEntry entry) {
+        try {
+            borrowRequestService.approveRequest(entry.requestId(),
+                    new ApproveRequest(approverUserId, "Auto-approved after capacity was released"));
+            log.info("Auto-approved request {} for equipment {}", entry.requestId(), entry.equipmentId());
+        } catch (RuntimeException e) {
+            // Still does not fit, or was handled by staff in the meantime
+            log.debug("Request {} not auto-approved: {}", entry.requestId(), e.getMessage());
+        }
+    }
+
+    private boolean tryFlag(WaitQueueEntry entry) {
+        try {
+            if (borrowRequestService.flagIfAvailable(entry.requestId())) {
+                flagged.add(entry.requestId());
+                return true;
+            }
+        } catch (RuntimeException e) {
+            log.debug("Request {} not flagged: {}", entry.requestId(), e.getMessage());
+        }
+        return false;
+    }
+
+    private void remove(BorrowRequestResponse request) {
+        NavigableMap<Long, WaitQueueEntry> queue = queues.get(request.getEquipmentId());
+        if (queue != null) {
+            queue.remove(request.getRequestId());
+        }
+        flagged.remove(request.getRequestId());
+    }
+
+    private NavigableMap<Long, WaitQueueEntry> queueFor(Long equipmentId) {
+        return queues.computeIfAbsent(equipmentId, id -> new ConcurrentSkipListMap<>());
+    }
+}
@@ -0,0 +1,6 @@
+package com.school.equipment.waitlist;
+
+import java.time.LocalDate;
+
+public record WaitQueueEntry(Long requestId, Long equipmentId, Integer quantity, LocalDate fromDate, LocalDate toDate) {
+}
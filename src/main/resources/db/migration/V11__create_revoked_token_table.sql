@@ -0,0 +1,9 @@
+CREATE TABLE revoked_token
+(
+    jti        VARCHAR(36) PRIMARY KEY,
+    user_id    BIGINT,
+    revoked_at TIMESTAMP NOT NULL,
+    expires_at TIMESTAMP NOT NULL,
+    INDEX      idx_revoked_token_revoked_at (revoked_at),
+    INDEX      idx_revoked_token_expires_at (expires_at)
+);
@@ -0,0 +1,24 @@
+CREATE TABLE borrow_cart
+(
+    cart_id      BIGINT AUTO_INCREMENT PRIMARY KEY,
+    requested_by BIGINT NOT NULL,
+    from_date    DATE   NOT NULL,
+    to_date      DATE   NOT NULL,
+    reason       VARCHAR(255),
+    created_at   TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT fk_borrow_cart_user
+        FOREIGN KEY (requested_by)
+            REFERENCES users (user_id)
+            ON DELETE CASCADE
+);
+
+-- Requests created from a cart are its lines; single-item requests keep a NULL cart_id
+ALTER TABLE borrow_request ADD COLUMN cart_id BIGINT;
+
+ALTER TABLE borrow_request
+    ADD CONSTRAINT fk_borrow_request_cart
+        FOREIGN KEY (cart_id)
+            REFERENCES borrow_cart (cart_id)
+            ON DELETE SET NULL;
+
+CREATE INDEX idx_borrow_request_cart ON borrow_request (cart_id);
@@ -0,0 +1,3 @@
+ALTER TABLE outbox_event ADD COLUMN delivered_sinks VARCHAR(255);
+
+ALTER TABLE outbox_event ADD COLUMN failed_at TIMESTAMP NULL;
@@ -7,7 +7,7 @@ CREATE TABLE users
     email         VARCHAR(100) UNIQUE,
     role          VARCHAR(50)  NOT NULL,
     created_at    TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-    updated_at    TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+    updated_at    TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     INDEX         idx_username (username),
     INDEX         idx_email (email)
 );
@@ -12,6 +12,6 @@ CREATE TABLE equipment
     updated_at         TIMESTAMP   DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
     CONSTRAINT fk_equipment_created_by
         FOREIGN KEY (created_by)
-            REFERENCES user (id)
+            REFERENCES users (user_id)
             ON DELETE SET NULL
 );
\ No newline at end of file
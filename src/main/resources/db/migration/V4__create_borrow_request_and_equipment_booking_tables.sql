@@ -20,11 +20,11 @@ CREATE TABLE borrow_request
             ON DELETE CASCADE,
     CONSTRAINT fk_borrow_request_user
         FOREIGN KEY (requested_by)
-            REFERENCES user (id)
+            REFERENCES users (user_id)
             ON DELETE CASCADE,
     CONSTRAINT fk_borrow_request_approved_by
         FOREIGN KEY (approved_by)
-            REFERENCES user (id)
+            REFERENCES users (user_id)
             ON DELETE SET NULL
 );
 
@@ -0,0 +1,14 @@
+CREATE TABLE outbox_event
+(
+    event_id        BIGINT AUTO_INCREMENT PRIMARY KEY,
+    aggregate_type  VARCHAR(50) NOT NULL,
+    aggregate_id    BIGINT      NOT NULL,
+    event_type      VARCHAR(50) NOT NULL,
+    payload         TEXT        NOT NULL,
+    attempts        INT         NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP   NOT NULL,
+    dispatched_at   TIMESTAMP   NULL,
+    last_error      VARCHAR(500),
+    created_at      TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    INDEX           idx_outbox_event_dispatch (dispatched_at, next_attempt_at)
+);
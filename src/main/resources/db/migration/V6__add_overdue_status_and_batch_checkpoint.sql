@@ -0,0 +1,15 @@
+-- OVERDUE is a new status value; make sure the column is not a native ENUM created by Hibernate
+ALTER TABLE borrow_request MODIFY status VARCHAR(50) DEFAULT 'PENDING';
+
+CREATE INDEX idx_borrow_request_status_to_date ON borrow_request (status, to_date);
+
+CREATE TABLE batch_checkpoint
+(
+    job_name     VARCHAR(100) PRIMARY KEY,
+    run_date     DATE,
+    last_date    DATE,
+    last_id      BIGINT,
+    processed    BIGINT NOT NULL DEFAULT 0,
+    completed_at TIMESTAMP NULL,
+    updated_at   TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
+);
@@ -0,0 +1,14 @@
+CREATE INDEX idx_equipment_booking_status_date ON equipment_booking (status, booking_date);
+
+CREATE TABLE equipment_booking_history
+(
+    booking_id   BIGINT PRIMARY KEY,
+    request_id   BIGINT      NOT NULL,
+    equipment_id BIGINT      NOT NULL,
+    booking_date DATE        NOT NULL,
+    quantity     INT         NOT NULL,
+    status       VARCHAR(50),
+    created_at   TIMESTAMP   NULL,
+    archived_at  TIMESTAMP   NOT NULL,
+    INDEX        idx_booking_history_equipment_date (equipment_id, booking_date)
+);
@@ -0,0 +1,23 @@
+CREATE TABLE borrow_request_archive
+(
+    request_id          BIGINT PRIMARY KEY,
+    term                VARCHAR(20)  NOT NULL,
+    equipment_id        BIGINT       NOT NULL,
+    equipment_name      VARCHAR(100),
+    requested_by        BIGINT       NOT NULL,
+    requester_name      VARCHAR(100),
+    approver_name       VARCHAR(100),
+    quantity            INT          NOT NULL,
+    from_date           DATE         NOT NULL,
+    to_date             DATE         NOT NULL,
+    return_date         DATE,
+    reason              VARCHAR(255),
+    status              VARCHAR(50),
+    remarks             VARCHAR(255),
+    condition_after_use VARCHAR(100),
+    created_at          TIMESTAMP    NULL,
+    updated_at          TIMESTAMP    NULL,
+    archived_at         TIMESTAMP    NOT NULL,
+    INDEX               idx_borrow_request_archive_term (term, status),
+    INDEX               idx_borrow_request_archive_requester (requested_by, term)
+);
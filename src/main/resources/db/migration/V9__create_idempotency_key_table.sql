@@ -0,0 +1,11 @@
+CREATE TABLE idempotency_key
+(
+    scoped_key    VARCHAR(200) PRIMARY KEY,
+    request_hash  VARCHAR(64) NOT NULL,
+    status_code   INT,
+    content_type  VARCHAR(100),
+    response_body TEXT,
+    created_at    TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    expires_at    TIMESTAMP   NOT NULL,
+    INDEX         idx_idempotency_key_expires_at (expires_at)
+);
@@ -0,0 +1,204 @@
+package com.school.equipment.metrics;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.school.equipment.entity.Role;
+import com.school.equipment.entity.User;
+import com.school.equipment.repository.UserRepository;
+import com.school.equipment.security.JwtUtil;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Per-endpoint SQL statement counts, as recorded by {@link SqlStatementBudgetFilter}. List
+ * endpoints must issue exactly their expected number of statements however many rows they
+ * return, so an N+1 or an extra lazy load in a mapping method fails the build; approvals must
+ * not grow with the booking window.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class SqlStatementCountTest {
+
+    // Equipment rows load their creator lazily, once per distinct creator; every seeded item has the same one
+    private static final Map<String, Integer> EXPECTED_LIST_STATEMENTS = Map.of(
+            "GET /api/equipment", 2,
+            "GET /api/requests", 1,
+            "GET /api/requests/my", 1,
+            "GET /api/requests/pending", 1,
+            "GET /api/requests?fields=", 1);
+
+    @Value("${app.sql.statement-budget}")
+    private int statementBudget;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String adminToken;
+
+    private String staffToken;
+
+    private Long staffId;
+
+    private String studentToken;
+
+    @BeforeAll
+    void createUsers() {
+        adminToken = token(createUser("count_admin", Role.ADMIN));
+        User staff = createUser("count_staff", Role.STAFF);
+        staffId = staff.getUserId();
+        staffToken = token(staff);
+        studentToken = token(createUser("count_student", Role.STUDENT));
+    }
+
+    @Test
+    void countsJdbcTemplateStatements() {
+        SqlStatementCounter.begin();
+        jdbcTemplate.queryForObject("SELECT 1", Integer.class);
+        jdbcTemplate.update("UPDATE equipment SET description = description WHERE equipment_id = ?", -1L);
+        assertEquals(2, SqlStatementCounter.end());
+    }
+
+    @Test
+    void listEndpointsDoNotIssueAStatementPerRow() throws Exception {
+        seed(2);
+        Map<String, Integer> fewRows = listStatementCounts();
+
+        seed(8);
+        Map<String, Integer> moreRows = listStatementCounts();
+
+        assertEquals(new TreeMap<>(EXPECTED_LIST_STATEMENTS), fewRows);
+        assertEquals(fewRows, moreRows);
+        fewRows.forEach((endpoint, statements) -> assertTrue(statements <= statementBudget,
+                endpoint + " issued " + statements + " statements"));
+    }
+
+    @Test
+    void approvalDoesNotGrowWithTheBookingWindow() throws Exception {
+        long equipmentId = createEquipment("Window item", 5);
+        LocalDate fromDate = LocalDate.now().plusDays(1);
+        long oneDay = createRequest(equipmentId, fromDate, fromDate);
+        long tenDays = createRequest(equipmentId, fromDate, fromDate.plusDays(9));
+
+        int oneDayStatements = approve(oneDay);
+        int tenDayStatements = approve(tenDays);
+
+        assertEquals(oneDayStatements, tenDayStatements);
+    }
+
+    private Map<String, Integer> listStatementCounts() throws Exception {
+        Map<String, MockHttpServletRequestBuilder> endpoints = Map.of(
+                "GET /api/equipment", get("/api/equipment"),
+                "GET /api/requests", get("/api/requests"),
+                "GET /api/requests/pending", get("/api/requests/pending"),
+                "GET /api/requests?fields=", get("/api/requests").param("fields", "requestId,status"));
+        Map<String, Integer> counts = new TreeMap<>();
+        for (Map.Entry<String, MockHttpServletRequestBuilder> endpoint : endpoints.entrySet()) {
+            // The first call warms the user profile cache
+            statements(endpoint.getValue(), staffToken);
+            counts.put(endpoint.getKey(), statements(endpoint.getValue(), staffToken));
+        }
+        statements(get("/api/requests/my"), studentToken);
+        counts.put("GET /api/requests/my", statements(get("/api/requests/my"), studentToken));
+        return counts;
+    }
+
+    private void seed(int items) throws Exception {
+        LocalDate fromDate = LocalDate.now().plusDays(3);
+        for (int i = 0; i < items; i++) {
+            long equipmentId = createEquipment("Count item " + i, 3);
+            createRequest(equipmentId, fromDate, fromDate.plusDays(2));
+        }
+    }
+
+    private long createEquipment(String name, int quantity) throws Exception {
+        return perform(post("/api/equipment"), adminToken, Map.of(
+                "name", name,
+                "category", "Lab",
+                "conditionStatus", "Good",
+                "totalQuantity", quantity,
+                "availability", true,
+                "description", name)).get("equipmentId").asLong();
+    }
+
+    private long createRequest(long equipmentId, LocalDate fromDate, LocalDate toDate) throws Exception {
+        return perform(post("/api/requests"), studentToken, Map.of(
+                "equipmentId", equipmentId,
+                "quantity", 1,
+                "fromDate", fromDate.toString(),
+                "toDate", toDate.toString(),
+                "reason", "Statement count")).get("requestId").asLong();
+    }
+
+    private int approve(long requestId) throws Exception {
+        return statements(put("/api/requests/" + requestId + "/approve")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of("approvedBy", staffId, "remarks", "ok"))), staffToken);
+    }
+
+    private JsonNode perform(MockHttpServletRequestBuilder request, String token, Object body) throws Exception {
+        MvcResult result = mockMvc.perform(request
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(body)))
+                .andExpect(status().isOk())
+                .andReturn();
+        return objectMapper.readTree(result.getResponse().getContentAsString());
+    }
+
+    private int statements(MockHttpServletRequestBuilder request, String token) throws Exception {
+        MvcResult result = mockMvc.perform(request.header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andReturn();
+        return (Integer) result.getRequest().getAttribute(SqlStatementBudgetFilter.STATEMENT_COUNT_ATTRIBUTE);
+    }
+
+    private User createUser(String username, Role role) {
+        User user = new User();
+        user.setUsername(username);
+        user.setPasswordHash("unused");
+        user.setFullName("Statement Count " + username);
+        user.setEmail(username + "@school.local");
+        user.setRole(role);
+        return userRepository.save(user);
+    }
+
+    private String token(User user) {
+        return jwtUtil.generateToken(user.getUsername(), user.getRole().name(), user.getUserId());
+    }
+}
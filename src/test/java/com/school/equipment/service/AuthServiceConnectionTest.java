@@ -0,0 +1,109 @@
+package com.school.equipment.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.school.equipment.entity.Role;
+import com.school.equipment.entity.User;
+import com.school.equipment.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Records whether the calling thread holds a JDBC connection while BCrypt runs. Login must not:
+ * the BCrypt check takes tens of milliseconds, and a login storm would otherwise drain the pool.
+ * The second test shows the same measurement with the lookup and the check in one read-only
+ * transaction, which is how login used to run.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class AuthServiceConnectionTest {
+
+    private static final String PASSWORD = "Secret123!";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @SpyBean
+    private PasswordEncoder passwordEncoder;
+
+    private final List<Boolean> connectionHeldDuringMatch = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void recordConnectionDuringMatch() {
+        connectionHeldDuringMatch.clear();
+        doAnswer(invocation -> {
+            connectionHeldDuringMatch.add(TransactionSynchronizationManager.hasResource(dataSource));
+            return invocation.callRealMethod();
+        }).when(passwordEncoder).matches(any(), any());
+    }
+
+    @Test
+    void loginChecksThePasswordWithoutHoldingAConnection() throws Exception {
+        createUser("hold_login");
+
+        mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("username", "hold_login", "password", PASSWORD))))
+                .andExpect(status().isOk());
+
+        assertEquals(List.of(false), connectionHeldDuringMatch);
+    }
+
+    @Test
+    void checkingInsideTheLookupTransactionHoldsAConnection() {
+        createUser("hold_transaction");
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        readOnly.executeWithoutResult(status -> {
+            User user = userRepository.findByUsername("hold_transaction").orElseThrow();
+            passwordEncoder.matches(PASSWORD, user.getPasswordHash());
+        });
+
+        assertEquals(List.of(true), connectionHeldDuringMatch);
+    }
+
+    private void createUser(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setPasswordHash(passwordEncoder.encode(PASSWORD));
+        user.setFullName("Connection Hold " + username);
+        user.setEmail(username + "@school.local");
+        user.setRole(Role.STUDENT);
+        userRepository.save(user);
+    }
+}